@@ -0,0 +1,141 @@
+package com.druid.main;
+
+import android.app.Activity;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.Choreographer;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import androidx.annotation.RequiresApi;
+
+/**
+ * 统计一段手势内的帧时间，结束时输出到 Logcat（tag: FrameTimeMonitor）
+ * Choreographer 记录帧间隔和超过一个 vsync 的帧数，API 24 以上再用 FrameMetrics 记录每帧的总耗时和 measure/layout 耗时，
+ * 用来对比下拉放大改为 transform 前后的差别
+ */
+public class FrameTimeMonitor implements Choreographer.FrameCallback {
+
+    private static final String TAG = "FrameTimeMonitor";
+    private static final long FRAME_NANOS = 16666667L;
+
+    private final String mName;
+    private final Activity mActivity;
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private Window.OnFrameMetricsAvailableListener mFrameMetricsListener;
+
+    private boolean mRunning;
+    private long mLastFrameNanos;
+    private int mFrames;
+    private long mMaxIntervalNanos;
+    private int mJankFrames;
+    private long mStartNanos;
+
+    private int mMetricsFrames;
+    private long mTotalDurationNanos;
+    private long mLayoutDurationNanos;
+
+    private final Runnable mStopRunnable = new Runnable() {
+        @Override
+        public void run() {
+            stop();
+        }
+    };
+
+    public FrameTimeMonitor(Activity activity, String name) {
+        this.mActivity = activity;
+        this.mName = name;
+    }
+
+    public void start() {
+        mHandler.removeCallbacks(mStopRunnable);
+        if (mRunning) {
+            return;
+        }
+        mRunning = true;
+        mLastFrameNanos = 0;
+        mFrames = 0;
+        mMaxIntervalNanos = 0;
+        mJankFrames = 0;
+        mStartNanos = System.nanoTime();
+        mMetricsFrames = 0;
+        mTotalDurationNanos = 0;
+        mLayoutDurationNanos = 0;
+        Choreographer.getInstance().postFrameCallback(this);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            addFrameMetricsListener();
+        }
+    }
+
+    /**
+     * 手指抬起后回弹还在继续，等一会再结束统计
+     * @param delayMillis 延迟时间
+     */
+    public void stopDelayed(long delayMillis) {
+        mHandler.removeCallbacks(mStopRunnable);
+        mHandler.postDelayed(mStopRunnable, delayMillis);
+    }
+
+    public void stop() {
+        mHandler.removeCallbacks(mStopRunnable);
+        if (!mRunning) {
+            return;
+        }
+        mRunning = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            removeFrameMetricsListener();
+        }
+        final long elapsed = System.nanoTime() - mStartNanos;
+        Log.d(TAG, String.format("%s: %d frames in %.0fms, max interval %.1fms, %d janky",
+                mName, mFrames, elapsed / 1e6, mMaxIntervalNanos / 1e6, mJankFrames));
+        if (mMetricsFrames > 0) {
+            Log.d(TAG, String.format("%s: avg frame %.2fms, avg measure/layout %.2fms (%d frames)",
+                    mName, mTotalDurationNanos / 1e6 / mMetricsFrames, mLayoutDurationNanos / 1e6 / mMetricsFrames, mMetricsFrames));
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!mRunning) {
+            return;
+        }
+        if (mLastFrameNanos != 0) {
+            final long interval = frameTimeNanos - mLastFrameNanos;
+            mFrames++;
+            mMaxIntervalNanos = Math.max(mMaxIntervalNanos, interval);
+            if (interval > FRAME_NANOS * 3 / 2) {
+                mJankFrames++;
+            }
+        }
+        mLastFrameNanos = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    @RequiresApi(Build.VERSION_CODES.N)
+    private void addFrameMetricsListener() {
+        if (mFrameMetricsListener == null) {
+            mFrameMetricsListener = new Window.OnFrameMetricsAvailableListener() {
+                @Override
+                public void onFrameMetricsAvailable(Window window, FrameMetrics frameMetrics, int dropCountSinceLastInvocation) {
+                    //回调在 mHandler 的主线程，不需要同步
+                    mMetricsFrames++;
+                    mTotalDurationNanos += frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION);
+                    mLayoutDurationNanos += frameMetrics.getMetric(FrameMetrics.LAYOUT_MEASURE_DURATION);
+                }
+            };
+        }
+        mActivity.getWindow().addOnFrameMetricsAvailableListener(mFrameMetricsListener, mHandler);
+    }
+
+    @RequiresApi(Build.VERSION_CODES.N)
+    private void removeFrameMetricsListener() {
+        try {
+            mActivity.getWindow().removeOnFrameMetricsAvailableListener(mFrameMetricsListener);
+        } catch (IllegalArgumentException ignored) {
+            //没有添加过
+        }
+    }
+}
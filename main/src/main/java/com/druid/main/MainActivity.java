@@ -1,13 +1,96 @@
 package com.druid.main;
 
 import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.yanzhenjie.recyclerview.swipe.SwipeMenuRecyclerView;
 
 public class MainActivity extends AppCompatActivity {
+
+    private static final long REBOUND_TAIL_MILLIS = 800;
+
+    private FrameTimeMonitor mFrameTimeMonitor;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_module);
+
+        final SwipeMenuRecyclerView recyclerView = findViewById(R.id.recycler_view);
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        final View header = LayoutInflater.from(this).inflate(R.layout.item_zoom_header, recyclerView, false);
+        recyclerView.addHeaderView(header);
+        recyclerView.setAdapter(new TextAdapter());
+        //noinspection deprecation
+        recyclerView.setmZoomView(header, header.findViewById(R.id.zoom_header_bg), header.findViewById(R.id.zoom_header));
+        recyclerView.setZoomListener(new SwipeMenuRecyclerView.ZoomViewHeaderListener() {
+            @Override
+            public void freshZoomViewHeader() {
+                recyclerView.postDelayed(new Runnable() {
+                    @Override
+                    public void run() {
+                        recyclerView.endZoomViewFresh();
+                    }
+                }, 1000);
+            }
+        });
+
+        mFrameTimeMonitor = new FrameTimeMonitor(this, "PullZoom");
+    }
+
+    /**
+     * 每次手势统计一次帧时间，抬起后等回弹结束再输出
+     */
+    @Override
+    public boolean dispatchTouchEvent(MotionEvent ev) {
+        switch (ev.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                mFrameTimeMonitor.start();
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                mFrameTimeMonitor.stopDelayed(REBOUND_TAIL_MILLIS);
+                break;
+        }
+        return super.dispatchTouchEvent(ev);
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        mFrameTimeMonitor.stop();
+    }
+
+    private static class TextAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            final TextView textView = new TextView(parent.getContext());
+            final int padding = (int) (16 * parent.getResources().getDisplayMetrics().density);
+            textView.setPadding(padding, padding, padding, padding);
+            textView.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+            return new RecyclerView.ViewHolder(textView) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+            ((TextView) holder.itemView).setText("Item " + position);
+        }
+
+        @Override
+        public int getItemCount() {
+            return 50;
+        }
     }
 }
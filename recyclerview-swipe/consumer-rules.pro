@@ -0,0 +1,4 @@
+# SwipeAdapterWrapper replaces ViewHolder.itemView with the SwipeMenuLayout.
+-keepclassmembers class androidx.recyclerview.widget.RecyclerView$ViewHolder {
+    public final android.view.View itemView;
+}
@@ -1,12 +1,9 @@
 package com.yanzhenjie.recyclerview.swipe;
 
 import android.content.Context;
-import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.recyclerview.widget.RecyclerView;
 import android.util.AttributeSet;
 import android.util.DisplayMetrics;
-import android.util.Log;
 import android.view.View;
 import android.view.WindowManager;
 
@@ -27,21 +24,6 @@ public class PullZoomSwipeMenuRecyclerView extends SwipeMenuRecyclerView {
 
     public PullZoomSwipeMenuRecyclerView(Context context, @Nullable AttributeSet attrs, int defStyle) {
         super(context, attrs, defStyle);
-        init();
-    }
-
-    private void init() {
-        addOnScrollListener(new OnScrollListener() {
-            int aa = 0;
-
-            @Override
-            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
-                super.onScrolled(recyclerView, dx, dy);
-                aa += dy;
-                Log.i("DY", aa + "");
-            }
-        });
-
     }
 
     private View zoomView;
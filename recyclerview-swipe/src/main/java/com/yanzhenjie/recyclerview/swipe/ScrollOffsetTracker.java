@@ -0,0 +1,294 @@
+/*
+ * Copyright 2017 Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.recyclerview.swipe;
+
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.StaggeredGridLayoutManager;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.Arrays;
+
+/**
+ * Record the measured extent of every position in a Fenwick tree, so that the absolute scroll offset and the
+ * position at an offset are answered in O(log n) without assuming that all items have the same size.
+ * <p>
+ * The extent of a position is how far the list scrolls from the start of the item to the start of the next one:
+ * its size for LinearLayoutManager, the row size on the last item of a row for GridLayoutManager, and its size
+ * divided by the span count for StaggeredGridLayoutManager. Positions that were never laid out use the average.
+ * </p>
+ */
+class ScrollOffsetTracker extends RecyclerView.AdapterDataObserver {
+
+    private static final int UNKNOWN = -1;
+
+    private final RecyclerView mRecyclerView;
+
+    private int mCount;
+    private int[] mExtents = new int[0];
+    // 1-based Fenwick trees of the measured extents and the measured count.
+    private long[] mSumTree = new long[1];
+    private int[] mCountTree = new int[1];
+    private long mMeasuredSum;
+    private int mMeasuredCount;
+
+    ScrollOffsetTracker(RecyclerView recyclerView) {
+        this.mRecyclerView = recyclerView;
+    }
+
+    /**
+     * Forget all extents.
+     */
+    void reset(int itemCount) {
+        int[] extents = new int[Math.max(0, itemCount)];
+        Arrays.fill(extents, UNKNOWN);
+        rebuild(extents);
+    }
+
+    /**
+     * Record the extents of the attached children, called after layout and scroll.
+     */
+    void record() {
+        RecyclerView.LayoutManager layoutManager = mRecyclerView.getLayoutManager();
+        if (layoutManager == null) return;
+        if (layoutManager.getItemCount() != mCount) reset(layoutManager.getItemCount());
+
+        final boolean vertical = layoutManager.canScrollVertically();
+        final int childCount = layoutManager.getChildCount();
+        if (layoutManager instanceof GridLayoutManager) {
+            // 同一行的条目起点相同，相邻两个条目起点之差就是前一个条目的距离。
+            View previous = null;
+            int previousPosition = RecyclerView.NO_POSITION;
+            for (int i = 0; i < childCount; i++) {
+                View child = layoutManager.getChildAt(i);
+                int position = layoutManager.getPosition(child);
+                if (previous != null && position == previousPosition + 1) {
+                    setExtent(previousPosition, getStart(layoutManager, child, vertical) - getStart(layoutManager, previous, vertical));
+                }
+                previous = child;
+                previousPosition = position;
+            }
+        } else if (layoutManager instanceof LinearLayoutManager) {
+            for (int i = 0; i < childCount; i++) {
+                View child = layoutManager.getChildAt(i);
+                setExtent(layoutManager.getPosition(child), getExtent(layoutManager, child, vertical));
+            }
+        } else if (layoutManager instanceof StaggeredGridLayoutManager) {
+            int spanCount = ((StaggeredGridLayoutManager) layoutManager).getSpanCount();
+            for (int i = 0; i < childCount; i++) {
+                View child = layoutManager.getChildAt(i);
+                int extent = getExtent(layoutManager, child, vertical);
+                ViewGroup.LayoutParams lp = child.getLayoutParams();
+                if (!(lp instanceof StaggeredGridLayoutManager.LayoutParams)
+                        || !((StaggeredGridLayoutManager.LayoutParams) lp).isFullSpan()) {
+                    extent = Math.round((float) extent / spanCount);
+                }
+                setExtent(layoutManager.getPosition(child), extent);
+            }
+        }
+    }
+
+    /**
+     * Get the absolute scroll offset of the list.
+     */
+    int getScrollOffset() {
+        RecyclerView.LayoutManager layoutManager = mRecyclerView.getLayoutManager();
+        if (layoutManager == null) return 0;
+        final int childCount = layoutManager.getChildCount();
+        if (childCount == 0) return 0;
+
+        View first = null;
+        int firstPosition = Integer.MAX_VALUE;
+        for (int i = 0; i < childCount; i++) {
+            View child = layoutManager.getChildAt(i);
+            int position = layoutManager.getPosition(child);
+            if (position < firstPosition) {
+                first = child;
+                firstPosition = position;
+            }
+        }
+        final boolean vertical = layoutManager.canScrollVertically();
+        int paddingStart = vertical ? layoutManager.getPaddingTop() : layoutManager.getPaddingLeft();
+        return (int) (getOffsetOf(firstPosition) + paddingStart - getStart(layoutManager, first, vertical));
+    }
+
+    /**
+     * Get the sum of the extents before the position.
+     */
+    long getOffsetOf(int position) {
+        position = Math.max(0, Math.min(position, mCount));
+        long sum = 0;
+        int count = 0;
+        for (int i = position; i > 0; i -= i & -i) {
+            sum += mSumTree[i];
+            count += mCountTree[i];
+        }
+        return sum + Math.round((position - count) * getAverageExtent());
+    }
+
+    /**
+     * Find the position which contains the scroll offset.
+     */
+    int findPositionAt(long offset) {
+        if (mCount == 0) return RecyclerView.NO_POSITION;
+        final float average = getAverageExtent();
+        int position = 0;
+        long remaining = offset;
+        for (int step = Integer.highestOneBit(mCount); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next > mCount) continue;
+            long value = mSumTree[next] + Math.round((step - mCountTree[next]) * average);
+            if (value <= remaining) {
+                position = next;
+                remaining -= value;
+            }
+        }
+        return Math.min(position, mCount - 1);
+    }
+
+    private float getAverageExtent() {
+        return mMeasuredCount == 0 ? 0 : (float) mMeasuredSum / mMeasuredCount;
+    }
+
+    private void setExtent(int position, int extent) {
+        if (position < 0 || position >= mCount) return;
+        final int old = mExtents[position];
+        if (old == extent) return;
+        long deltaSum;
+        int deltaCount;
+        if (old == UNKNOWN) {
+            deltaSum = extent;
+            deltaCount = 1;
+        } else if (extent == UNKNOWN) {
+            deltaSum = -old;
+            deltaCount = -1;
+        } else {
+            deltaSum = extent - old;
+            deltaCount = 0;
+        }
+        mExtents[position] = extent;
+        mMeasuredSum += deltaSum;
+        mMeasuredCount += deltaCount;
+        for (int i = position + 1; i <= mCount; i += i & -i) {
+            mSumTree[i] += deltaSum;
+            mCountTree[i] += deltaCount;
+        }
+    }
+
+    private void rebuild(int[] extents) {
+        final int count = extents.length;
+        long[] sumTree = new long[count + 1];
+        int[] countTree = new int[count + 1];
+        long measuredSum = 0;
+        int measuredCount = 0;
+        for (int i = 1; i <= count; i++) {
+            int extent = extents[i - 1];
+            if (extent != UNKNOWN) {
+                sumTree[i] += extent;
+                countTree[i]++;
+                measuredSum += extent;
+                measuredCount++;
+            }
+            int parent = i + (i & -i);
+            if (parent <= count) {
+                sumTree[parent] += sumTree[i];
+                countTree[parent] += countTree[i];
+            }
+        }
+        mCount = count;
+        mExtents = extents;
+        mSumTree = sumTree;
+        mCountTree = countTree;
+        mMeasuredSum = measuredSum;
+        mMeasuredCount = measuredCount;
+    }
+
+    private static int getStart(RecyclerView.LayoutManager layoutManager, View child, boolean vertical) {
+        ViewGroup.MarginLayoutParams lp = (ViewGroup.MarginLayoutParams) child.getLayoutParams();
+        return vertical
+                ? layoutManager.getDecoratedTop(child) - lp.topMargin
+                : layoutManager.getDecoratedLeft(child) - lp.leftMargin;
+    }
+
+    private static int getExtent(RecyclerView.LayoutManager layoutManager, View child, boolean vertical) {
+        ViewGroup.MarginLayoutParams lp = (ViewGroup.MarginLayoutParams) child.getLayoutParams();
+        return vertical
+                ? layoutManager.getDecoratedMeasuredHeight(child) + lp.topMargin + lp.bottomMargin
+                : layoutManager.getDecoratedMeasuredWidth(child) + lp.leftMargin + lp.rightMargin;
+    }
+
+    @Override
+    public void onChanged() {
+        RecyclerView.Adapter adapter = mRecyclerView.getAdapter();
+        reset(adapter == null ? 0 : adapter.getItemCount());
+    }
+
+    @Override
+    public void onItemRangeChanged(int positionStart, int itemCount) {
+        final int end = Math.min(positionStart + itemCount, mCount);
+        for (int i = Math.max(0, positionStart); i < end; i++) setExtent(i, UNKNOWN);
+    }
+
+    @Override
+    public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+        onItemRangeChanged(positionStart, itemCount);
+    }
+
+    @Override
+    public void onItemRangeInserted(int positionStart, int itemCount) {
+        if (positionStart < 0 || positionStart > mCount) {
+            onChanged();
+            return;
+        }
+        int[] extents = new int[mCount + itemCount];
+        System.arraycopy(mExtents, 0, extents, 0, positionStart);
+        Arrays.fill(extents, positionStart, positionStart + itemCount, UNKNOWN);
+        System.arraycopy(mExtents, positionStart, extents, positionStart + itemCount, mCount - positionStart);
+        rebuild(extents);
+    }
+
+    @Override
+    public void onItemRangeRemoved(int positionStart, int itemCount) {
+        if (positionStart < 0 || positionStart + itemCount > mCount) {
+            onChanged();
+            return;
+        }
+        int[] extents = new int[mCount - itemCount];
+        System.arraycopy(mExtents, 0, extents, 0, positionStart);
+        System.arraycopy(mExtents, positionStart + itemCount, extents, positionStart, mCount - positionStart - itemCount);
+        rebuild(extents);
+    }
+
+    @Override
+    public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+        if (fromPosition < 0 || fromPosition >= mCount || toPosition < 0 || toPosition >= mCount) {
+            onChanged();
+            return;
+        }
+        int[] extents = mExtents.clone();
+        int moved = extents[fromPosition];
+        if (fromPosition < toPosition) {
+            System.arraycopy(extents, fromPosition + 1, extents, fromPosition, toPosition - fromPosition);
+        } else {
+            System.arraycopy(extents, toPosition, extents, toPosition + 1, fromPosition - toPosition);
+        }
+        extents[toPosition] = moved;
+        rebuild(extents);
+    }
+}
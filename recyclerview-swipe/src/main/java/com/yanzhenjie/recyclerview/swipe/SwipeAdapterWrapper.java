@@ -25,8 +25,14 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
+import com.yanzhenjie.recyclerview.swipe.touch.OnItemDismissBatchListener;
+import com.yanzhenjie.recyclerview.swipe.touch.OnItemReorderListener;
+
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Created by YanZhenjie on 2017/7/20.
@@ -35,6 +41,7 @@ public class SwipeAdapterWrapper extends RecyclerView.Adapter<RecyclerView.ViewH
 
     private static final int BASE_ITEM_TYPE_HEADER = 100000;
     private static final int BASE_ITEM_TYPE_FOOTER = 200000;
+    private static final int MAX_POOLED_MENU_VIEWS = 2;
 
     private SparseArrayCompat<View> mHeaderViews = new SparseArrayCompat<>();
     private SparseArrayCompat<View> mFootViews = new SparseArrayCompat<>();
@@ -43,13 +50,30 @@ public class SwipeAdapterWrapper extends RecyclerView.Adapter<RecyclerView.ViewH
     private LayoutInflater mInflater;
 
     private SwipeMenuCreator mSwipeMenuCreator;
+    private SparseArrayCompat<SwipeMenu[]> mSwipeMenuTemplates = new SparseArrayCompat<>();
+    private SparseArrayCompat<List<SwipeMenuView[]>> mSwipeMenuViewPool = new SparseArrayCompat<>();
+    private boolean mSwipeMenuLazy;
+    private SwipeHolderPrefetcher mPrefetcher;
+    private RecyclerView mRecyclerView;
     private SwipeMenuItemClickListener mSwipeMenuItemClickListener;
     private SwipeItemClickListener mSwipeItemClickListener;
     private SwipeItemLongClickListener mSwipeItemLongClickListener;
+    private final ClickDispatcher mClickDispatcher = new ClickDispatcher();
+    private SparseArrayCompat<LazyMenuAttacher> mLazyMenuAttachers = new SparseArrayCompat<>();
+    private OnItemReorderListener mOnItemReorderListener;
+    // 拖拽中的条目移动，不含 Header。
+    private int mReorderFrom = RecyclerView.NO_POSITION;
+    private int mReorderTo = RecyclerView.NO_POSITION;
+    private OnItemDismissBatchListener mOnItemDismissBatchListener;
+    private List<RecyclerView.ViewHolder> mPendingDismiss = new ArrayList<>();
+    // 最近一次删除的位置，用于撤销。
+    private int[] mLastDismissed;
 
     SwipeAdapterWrapper(Context context, RecyclerView.Adapter adapter) {
         this.mInflater = LayoutInflater.from(context);
         this.mAdapter = adapter;
+        // the RecyclerView only sees the wrapper, it must report the stable ids of the origin adapter.
+        super.setHasStableIds(adapter.hasStableIds());
     }
 
     public RecyclerView.Adapter getOriginAdapter() {
@@ -63,6 +87,188 @@ public class SwipeAdapterWrapper extends RecyclerView.Adapter<RecyclerView.ViewH
      */
     void setSwipeMenuCreator(SwipeMenuCreator swipeMenuCreator) {
         this.mSwipeMenuCreator = swipeMenuCreator;
+        this.mSwipeMenuTemplates.clear();
+        this.mSwipeMenuViewPool.clear();
+    }
+
+    /**
+     * Create the menu views only when an item is swiped, and share them between items of the same viewType.
+     *
+     * @param swipeMenuLazy true lazy, otherwise every item creates its own menu views.
+     */
+    void setSwipeMenuLazy(boolean swipeMenuLazy) {
+        this.mSwipeMenuLazy = swipeMenuLazy;
+    }
+
+    /**
+     * Move the dragged item in the data only once when it is dropped.
+     *
+     * @param onItemReorderListener listener.
+     */
+    void setOnItemReorderListener(OnItemReorderListener onItemReorderListener) {
+        this.mOnItemReorderListener = onItemReorderListener;
+    }
+
+    /**
+     * The dragged item passes over the target, only the screen is changed.
+     */
+    boolean moveReorder(int fromPosition, int toPosition) {
+        if (mOnItemReorderListener == null) return false;
+        if (fromPosition < 0 || toPosition < 0) return false;
+        if (isHeaderView(toPosition) || isFooterView(toPosition)) return false;
+        int headerCount = getHeaderItemCount();
+        if (mReorderFrom == RecyclerView.NO_POSITION) mReorderFrom = fromPosition - headerCount;
+        mReorderTo = toPosition - headerCount;
+        notifyItemMoved(fromPosition, toPosition);
+        return true;
+    }
+
+    /**
+     * The dragged item is dropped, move the data once.
+     */
+    void dropReorder() {
+        int fromPosition = mReorderFrom;
+        int toPosition = mReorderTo;
+        mReorderFrom = RecyclerView.NO_POSITION;
+        mReorderTo = RecyclerView.NO_POSITION;
+        if (mOnItemReorderListener != null && fromPosition != toPosition) {
+            mOnItemReorderListener.onItemReorder(fromPosition, toPosition);
+        }
+    }
+
+    /**
+     * Remove the items swiped out in a short window together.
+     *
+     * @param onItemDismissBatchListener listener.
+     */
+    void setOnItemDismissBatchListener(OnItemDismissBatchListener onItemDismissBatchListener) {
+        this.mOnItemDismissBatchListener = onItemDismissBatchListener;
+        this.mPendingDismiss.clear();
+        this.mLastDismissed = null;
+    }
+
+    /**
+     * Queue the swiped item.
+     *
+     * @return true if it is the first item of the window, {@link #dismissPending()} should be scheduled.
+     */
+    boolean queueDismiss(RecyclerView.ViewHolder viewHolder) {
+        mPendingDismiss.add(viewHolder);
+        return mPendingDismiss.size() == 1;
+    }
+
+    /**
+     * Remove the queued items from the data, and notify the adapter with ranges.
+     */
+    void dismissPending() {
+        final int size = mPendingDismiss.size();
+        if (size == 0 || mOnItemDismissBatchListener == null) {
+            mPendingDismiss.clear();
+            return;
+        }
+        final int headerCount = getHeaderItemCount();
+        final int contentCount = getContentItemCount();
+        int[] positions = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int position = mPendingDismiss.get(i).getAdapterPosition() - headerCount;
+            if (position >= 0 && position < contentCount) positions[count++] = position;
+        }
+        mPendingDismiss.clear();
+        if (count == 0) return;
+        if (count < size) positions = Arrays.copyOf(positions, count);
+        Arrays.sort(positions);
+
+        mLastDismissed = positions;
+        mOnItemDismissBatchListener.onItemsDismiss(positions);
+        // 从后往前通知，前面的位置不受影响。
+        for (int end = count - 1; end >= 0; ) {
+            int start = end;
+            while (start > 0 && positions[start - 1] == positions[start] - 1) start--;
+            notifyItemRangeRemoved(positions[start] + headerCount, end - start + 1);
+            end = start - 1;
+        }
+    }
+
+    /**
+     * Put back the items removed last time.
+     *
+     * @return false if there is nothing to restore.
+     */
+    boolean restoreDismissed() {
+        dismissPending();
+        final int[] positions = mLastDismissed;
+        if (positions == null || mOnItemDismissBatchListener == null) return false;
+        mLastDismissed = null;
+
+        mOnItemDismissBatchListener.onItemsRestore(positions);
+        final int headerCount = getHeaderItemCount();
+        final int count = positions.length;
+        for (int start = 0; start < count; ) {
+            int end = start;
+            while (end < count - 1 && positions[end + 1] == positions[end] + 1) end++;
+            notifyItemRangeInserted(positions[start] + headerCount, end - start + 1);
+            start = end + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Convert the content position on the screen to the position of the origin adapter, they are different only when
+     * an item is dragged.
+     */
+    private int getOriginPosition(int position) {
+        if (mReorderFrom == mReorderTo) return position;
+        if (position == mReorderTo) return mReorderFrom;
+        if (mReorderFrom < mReorderTo) {
+            if (position >= mReorderFrom && position < mReorderTo) return position + 1;
+        } else if (position > mReorderTo && position <= mReorderFrom) {
+            return position - 1;
+        }
+        return position;
+    }
+
+    /**
+     * Create the ViewHolders ahead of time on a background thread, and keep them in the RecycledViewPool.
+     *
+     * @param executor the thread to inflate the views, null to stop prefetching.
+     * @param factory  create the content ViewHolder, null to create it with the origin adapter on the main thread.
+     */
+    void setAsyncPrefetch(Executor executor, SwipeViewHolderFactory factory) {
+        if (mPrefetcher != null) mPrefetcher.detach();
+        mPrefetcher = executor == null ? null : new SwipeHolderPrefetcher(this, executor, factory);
+        if (mPrefetcher != null && mRecyclerView != null) mPrefetcher.attach(mRecyclerView);
+    }
+
+    void prefetchViewHolders(int viewType, int count) {
+        if (mPrefetcher != null) mPrefetcher.prefetch(viewType, count);
+    }
+
+    /**
+     * Is there anything to prepare on the prefetch thread.
+     */
+    boolean canPrepareViewHolder(SwipeViewHolderFactory factory) {
+        return factory != null || mSwipeMenuCreator != null;
+    }
+
+    /**
+     * Called on the prefetch thread, inflate the views that {@link #onCreateViewHolder(ViewGroup, int)} needs.
+     * <p>
+     * Without a factory only the swipe shell is inflated, the origin adapter usually inflates with the shared
+     * LayoutInflater of the Context, which is not thread safe, so its onCreateViewHolder stays on the main thread.
+     * </p>
+     */
+    SwipeHolderPrefetcher.Prepared prepareViewHolder(LayoutInflater inflater, ViewGroup parent, int viewType,
+                                                     SwipeViewHolderFactory factory) {
+        RecyclerView.ViewHolder viewHolder = factory == null
+                ? null
+                : factory.onCreateViewHolder(inflater, parent, viewType);
+        SwipeMenuLayout swipeMenuLayout = null;
+        if (mSwipeMenuCreator != null) {
+            int layoutId = mSwipeMenuLazy ? R.layout.recycler_swipe_view_item_lazy : R.layout.recycler_swipe_view_item;
+            swipeMenuLayout = (SwipeMenuLayout) inflater.inflate(layoutId, parent, false);
+        }
+        return new SwipeHolderPrefetcher.Prepared(viewHolder, swipeMenuLayout);
     }
 
     /**
@@ -98,7 +304,7 @@ public class SwipeAdapterWrapper extends RecyclerView.Adapter<RecyclerView.ViewH
         } else if (isFooterView(position)) {
             return mFootViews.keyAt(position - getHeaderItemCount() - getContentItemCount());
         }
-        return mAdapter.getItemViewType(position - getHeaderItemCount());
+        return mAdapter.getItemViewType(getOriginPosition(position - getHeaderItemCount()));
     }
 
     @Override
@@ -108,40 +314,42 @@ public class SwipeAdapterWrapper extends RecyclerView.Adapter<RecyclerView.ViewH
         } else if (mFootViews.get(viewType) != null) {
             return new ViewHolder(mFootViews.get(viewType));
         }
-        final RecyclerView.ViewHolder viewHolder = mAdapter.onCreateViewHolder(parent, viewType);
+        final SwipeHolderPrefetcher.Prepared prepared = mPrefetcher == null ? null : mPrefetcher.poll(viewType);
+        final RecyclerView.ViewHolder viewHolder = prepared != null && prepared.mContentHolder != null
+                ? prepared.mContentHolder
+                : mAdapter.onCreateViewHolder(parent, viewType);
 
         if (mSwipeItemClickListener != null) {
-            viewHolder.itemView.setOnClickListener(new View.OnClickListener() {
-                @Override
-                public void onClick(View v) {
-                    mSwipeItemClickListener.onItemClick(v, viewHolder.getAdapterPosition());
-                }
-            });
+            viewHolder.itemView.setOnClickListener(mClickDispatcher);
         }
         if (mSwipeItemLongClickListener != null) {
-            viewHolder.itemView.setOnLongClickListener(new View.OnLongClickListener() {
-                @Override
-                public boolean onLongClick(View v) {
-                    mSwipeItemLongClickListener.onItemLongClick(v, viewHolder.getAdapterPosition());
-                    return true;
-                }
-            });
+            viewHolder.itemView.setOnLongClickListener(mClickDispatcher);
         }
 
         if (mSwipeMenuCreator == null) return viewHolder;
 
-        final SwipeMenuLayout swipeMenuLayout = (SwipeMenuLayout) mInflater.inflate(R.layout.recycler_swipe_view_item, parent, false);
-        SwipeMenu swipeLeftMenu = new SwipeMenu(swipeMenuLayout, viewType);
-        SwipeMenu swipeRightMenu = new SwipeMenu(swipeMenuLayout, viewType);
+        if (mSwipeMenuLazy) {
+            final SwipeMenuLayout swipeMenuLayout = prepared != null && prepared.mSwipeMenuLayout != null
+                    ? prepared.mSwipeMenuLayout
+                    : (SwipeMenuLayout) mInflater.inflate(R.layout.recycler_swipe_view_item_lazy, parent, false);
+            getSwipeMenuTemplate(swipeMenuLayout, viewType);
+            swipeMenuLayout.setMenuAttacher(getLazyMenuAttacher(viewType));
+            return wrapViewHolder(viewHolder, swipeMenuLayout);
+        }
 
-        mSwipeMenuCreator.onCreateMenu(swipeLeftMenu, swipeRightMenu, viewType);
+        final SwipeMenuLayout swipeMenuLayout = prepared != null && prepared.mSwipeMenuLayout != null
+                ? prepared.mSwipeMenuLayout
+                : (SwipeMenuLayout) mInflater.inflate(R.layout.recycler_swipe_view_item, parent, false);
+        SwipeMenu[] swipeMenus = getSwipeMenuTemplate(swipeMenuLayout, viewType);
+        SwipeMenu swipeLeftMenu = swipeMenus[0];
+        SwipeMenu swipeRightMenu = swipeMenus[1];
 
         int leftMenuCount = swipeLeftMenu.getMenuItems().size();
         if (leftMenuCount > 0) {
             SwipeMenuView swipeLeftMenuView = (SwipeMenuView) swipeMenuLayout.findViewById(R.id.swipe_left);
             // noinspection WrongConstant
             swipeLeftMenuView.setOrientation(swipeLeftMenu.getOrientation());
-            swipeLeftMenuView.createMenu(swipeLeftMenu, swipeMenuLayout, mSwipeMenuItemClickListener, SwipeMenuRecyclerView.LEFT_DIRECTION);
+            swipeLeftMenuView.createMenu(swipeLeftMenu, swipeMenuLayout, mClickDispatcher, SwipeMenuRecyclerView.LEFT_DIRECTION);
         }
 
         int rightMenuCount = swipeRightMenu.getMenuItems().size();
@@ -149,9 +357,12 @@ public class SwipeAdapterWrapper extends RecyclerView.Adapter<RecyclerView.ViewH
             SwipeMenuView swipeRightMenuView = (SwipeMenuView) swipeMenuLayout.findViewById(R.id.swipe_right);
             // noinspection WrongConstant
             swipeRightMenuView.setOrientation(swipeRightMenu.getOrientation());
-            swipeRightMenuView.createMenu(swipeRightMenu, swipeMenuLayout, mSwipeMenuItemClickListener, SwipeMenuRecyclerView.RIGHT_DIRECTION);
+            swipeRightMenuView.createMenu(swipeRightMenu, swipeMenuLayout, mClickDispatcher, SwipeMenuRecyclerView.RIGHT_DIRECTION);
         }
+        return wrapViewHolder(viewHolder, swipeMenuLayout);
+    }
 
+    private RecyclerView.ViewHolder wrapViewHolder(RecyclerView.ViewHolder viewHolder, SwipeMenuLayout swipeMenuLayout) {
         ViewGroup viewGroup = (ViewGroup) swipeMenuLayout.findViewById(R.id.swipe_content);
         //log error
         if (viewHolder != null) {
@@ -159,22 +370,156 @@ public class SwipeAdapterWrapper extends RecyclerView.Adapter<RecyclerView.ViewH
                 viewGroup.addView(viewHolder.itemView);
             }
         }
+        replaceItemView(viewHolder, swipeMenuLayout);
+        return viewHolder;
+    }
+
+    /**
+     * The menus only depend on the viewType, so {@link SwipeMenuCreator#onCreateMenu(SwipeMenu, SwipeMenu, int)} is
+     * called once per viewType and the result is kept as a template for the following ViewHolders.
+     */
+    private SwipeMenu[] getSwipeMenuTemplate(SwipeMenuLayout swipeMenuLayout, int viewType) {
+        SwipeMenu[] swipeMenus = mSwipeMenuTemplates.get(viewType);
+        if (swipeMenus == null) {
+            SwipeMenu swipeLeftMenu = new SwipeMenu(swipeMenuLayout, viewType);
+            SwipeMenu swipeRightMenu = new SwipeMenu(swipeMenuLayout, viewType);
+            mSwipeMenuCreator.onCreateMenu(swipeLeftMenu, swipeRightMenu, viewType);
+            swipeLeftMenu.detachLayout();
+            swipeRightMenu.detachLayout();
+            swipeMenus = new SwipeMenu[]{swipeLeftMenu, swipeRightMenu};
+            mSwipeMenuTemplates.put(viewType, swipeMenus);
+        } else {
+            swipeMenus[0].applyTo(swipeMenuLayout);
+            swipeMenus[1].applyTo(swipeMenuLayout);
+        }
+        return swipeMenus;
+    }
+
+    /**
+     * Take the menu views of the viewType from the pool, or create them from the template.
+     */
+    private SwipeMenuView[] obtainMenuViews(SwipeMenuLayout swipeMenuLayout, int viewType) {
+        List<SwipeMenuView[]> pool = mSwipeMenuViewPool.get(viewType);
+        if (pool != null && !pool.isEmpty()) {
+            return pool.remove(pool.size() - 1);
+        }
+        SwipeMenu[] swipeMenus = getSwipeMenuTemplate(swipeMenuLayout, viewType);
+        return new SwipeMenuView[]{
+                createMenuView(swipeMenuLayout, swipeMenus[0], SwipeMenuRecyclerView.LEFT_DIRECTION),
+                createMenuView(swipeMenuLayout, swipeMenus[1], SwipeMenuRecyclerView.RIGHT_DIRECTION)};
+    }
+
+    private SwipeMenuView createMenuView(SwipeMenuLayout swipeMenuLayout, SwipeMenu swipeMenu,
+                                         @SwipeMenuRecyclerView.DirectionMode int direction) {
+        if (swipeMenu.getMenuItems().isEmpty()) return null;
+        SwipeMenuView swipeMenuView = new SwipeMenuView(swipeMenuLayout.getContext());
+        // noinspection WrongConstant
+        swipeMenuView.setOrientation(swipeMenu.getOrientation());
+        swipeMenuView.createMenu(swipeMenu, swipeMenuLayout, mClickDispatcher, direction);
+        return swipeMenuView;
+    }
+
+    private void recycleMenuViews(int viewType, SwipeMenuView[] menuViews) {
+        List<SwipeMenuView[]> pool = mSwipeMenuViewPool.get(viewType);
+        if (pool == null) {
+            pool = new ArrayList<>(MAX_POOLED_MENU_VIEWS);
+            mSwipeMenuViewPool.put(viewType, pool);
+        }
+        if (pool.size() < MAX_POOLED_MENU_VIEWS) {
+            pool.add(menuViews);
+        }
+    }
+
+    private LazyMenuAttacher getLazyMenuAttacher(int viewType) {
+        LazyMenuAttacher attacher = mLazyMenuAttachers.get(viewType);
+        if (attacher == null) {
+            attacher = new LazyMenuAttacher(viewType);
+            mLazyMenuAttachers.put(viewType, attacher);
+        }
+        return attacher;
+    }
+
+    /**
+     * Shared by all items of a viewType, the menu clicks find their item through the {@link ClickDispatcher}.
+     */
+    private class LazyMenuAttacher implements SwipeMenuLayout.MenuAttacher {
+
+        private final int mViewType;
+
+        LazyMenuAttacher(int viewType) {
+            this.mViewType = viewType;
+        }
+
+        @Override
+        public void onAttachMenu(SwipeMenuLayout swipeMenuLayout) {
+            SwipeMenuView[] menuViews = obtainMenuViews(swipeMenuLayout, mViewType);
+            swipeMenuLayout.attachMenuViews(menuViews[0], menuViews[1]);
+        }
+
+        @Override
+        public void onDetachMenu(SwipeMenuLayout swipeMenuLayout, SwipeMenuView leftMenu, SwipeMenuView rightMenu) {
+            recycleMenuViews(mViewType, new SwipeMenuView[]{leftMenu, rightMenu});
+        }
+    }
+
+    /**
+     * One click listener for all items and menus of the RecyclerView, the ViewHolder is found from the clicked view.
+     */
+    private class ClickDispatcher implements View.OnClickListener, View.OnLongClickListener {
+
+        @Override
+        public void onClick(View v) {
+            RecyclerView.ViewHolder viewHolder = findContainingViewHolder(v);
+            if (viewHolder == null) return;
+            Object tag = v.getTag();
+            if (tag instanceof SwipeMenuBridge) {
+                SwipeMenuBridge menuBridge = (SwipeMenuBridge) tag;
+                if (mSwipeMenuItemClickListener != null && menuBridge.mSwipeSwitch.isMenuOpen()) {
+                    menuBridge.mAdapterPosition = viewHolder.getAdapterPosition();
+                    mSwipeMenuItemClickListener.onItemClick(menuBridge);
+                }
+            } else if (mSwipeItemClickListener != null) {
+                mSwipeItemClickListener.onItemClick(v, viewHolder.getAdapterPosition());
+            }
+        }
+
+        @Override
+        public boolean onLongClick(View v) {
+            RecyclerView.ViewHolder viewHolder = findContainingViewHolder(v);
+            if (viewHolder != null && mSwipeItemLongClickListener != null) {
+                mSwipeItemLongClickListener.onItemLongClick(v, viewHolder.getAdapterPosition());
+            }
+            return true;
+        }
+
+        private RecyclerView.ViewHolder findContainingViewHolder(View v) {
+            RecyclerView recyclerView = mRecyclerView;
+            return recyclerView == null ? null : recyclerView.findContainingViewHolder(v);
+        }
+    }
+
+    /**
+     * The itemView field is always declared by {@link RecyclerView.ViewHolder}, so it is resolved once and
+     * shared by every holder class, instead of walking the class hierarchy for each created holder.
+     */
+    private static Field sItemViewField;
+
+    private static void replaceItemView(RecyclerView.ViewHolder viewHolder, View itemView) {
         try {
-            Field itemView = getSupperClass(viewHolder.getClass()).getDeclaredField("itemView");
-            if (!itemView.isAccessible()) itemView.setAccessible(true);
-            itemView.set(viewHolder, swipeMenuLayout);
+            getItemViewField().set(viewHolder, itemView);
         } catch (Exception e) {
             e.printStackTrace();
         }
-        return viewHolder;
     }
 
-    private Class<?> getSupperClass(Class<?> aClass) {
-        Class<?> supperClass = aClass.getSuperclass();
-        if (supperClass != null && !supperClass.equals(Object.class)) {
-            return getSupperClass(supperClass);
+    static Field getItemViewField() throws NoSuchFieldException {
+        Field field = sItemViewField;
+        if (field == null) {
+            field = RecyclerView.ViewHolder.class.getDeclaredField("itemView");
+            field.setAccessible(true);
+            sItemViewField = field;
         }
-        return aClass;
+        return field;
     }
 
     @Override
@@ -187,23 +532,13 @@ public class SwipeAdapterWrapper extends RecyclerView.Adapter<RecyclerView.ViewH
             return;
         }
 
-        View itemView = holder.itemView;
-        if (itemView instanceof SwipeMenuLayout) {
-            SwipeMenuLayout swipeMenuLayout = (SwipeMenuLayout) itemView;
-            int childCount = swipeMenuLayout.getChildCount();
-            for (int i = 0; i < childCount; i++) {
-                View childView = swipeMenuLayout.getChildAt(i);
-                if (childView instanceof SwipeMenuView) {
-                    ((SwipeMenuView) childView).bindViewHolder(holder);
-                }
-            }
-        }
-
-        mAdapter.onBindViewHolder(holder, position - getHeaderItemCount(), payloads);
+        mAdapter.onBindViewHolder(holder, getOriginPosition(position - getHeaderItemCount()), payloads);
     }
 
     @Override
     public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        mRecyclerView = recyclerView;
+        if (mPrefetcher != null) mPrefetcher.attach(recyclerView);
         mAdapter.onAttachedToRecyclerView(recyclerView);
     }
 
@@ -218,10 +553,16 @@ public class SwipeAdapterWrapper extends RecyclerView.Adapter<RecyclerView.ViewH
                 p.setFullSpan(true);
             }
         } else {
+            if (mPrefetcher != null && isContentViewType(holder.getItemViewType()))
+                mPrefetcher.onViewAttached(holder.getItemViewType());
             mAdapter.onViewAttachedToWindow(holder);
         }
     }
 
+    private boolean isContentViewType(int viewType) {
+        return mHeaderViews.get(viewType) == null && mFootViews.get(viewType) == null;
+    }
+
     public boolean isHeaderView(int position) {
         return position >= 0 && position < getHeaderItemCount();
     }
@@ -277,14 +618,16 @@ public class SwipeAdapterWrapper extends RecyclerView.Adapter<RecyclerView.ViewH
     @Override
     public void setHasStableIds(boolean hasStableIds) {
         mAdapter.setHasStableIds(hasStableIds);
+        super.setHasStableIds(hasStableIds);
     }
 
     @Override
     public long getItemId(int position) {
         if (!isHeaderView(position) && !isFooterView(position)) {
-            return mAdapter.getItemId(position);
+            return mAdapter.getItemId(getOriginPosition(position - getHeaderItemCount()));
         }
-        return super.getItemId(position);
+        // every header and footer has its own view type, keep their ids unique too.
+        return hasStableIds() ? Long.MIN_VALUE + getItemViewType(position) : super.getItemId(position);
     }
 
     @Override
@@ -306,6 +649,9 @@ public class SwipeAdapterWrapper extends RecyclerView.Adapter<RecyclerView.ViewH
 
     @Override
     public void onViewDetachedFromWindow(RecyclerView.ViewHolder holder) {
+        if (mPrefetcher != null && isContentViewType(holder.getItemViewType()))
+            mPrefetcher.onViewDetached(holder.getItemViewType());
+
         int position = holder.getAdapterPosition();
 
         if (!isHeaderView(position) && !isFooterView(position))
@@ -324,6 +670,8 @@ public class SwipeAdapterWrapper extends RecyclerView.Adapter<RecyclerView.ViewH
 
     @Override
     public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        mRecyclerView = null;
+        if (mPrefetcher != null) mPrefetcher.detach();
         mAdapter.onDetachedFromRecyclerView(recyclerView);
     }
 }
\ No newline at end of file
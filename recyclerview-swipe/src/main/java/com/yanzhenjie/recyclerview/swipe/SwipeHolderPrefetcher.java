@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017 Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.recyclerview.swipe;
+
+import androidx.collection.SparseArrayCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+import android.util.SparseIntArray;
+import android.view.LayoutInflater;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+/**
+ * Inflate the swipe shell and the content of ViewHolders on a background thread, then create the wrapped
+ * ViewHolders on the main thread and put them into the {@link RecyclerView.RecycledViewPool}.
+ * <p>
+ * The pool size of each viewType follows the most items of that type seen on the screen at the same time.
+ * </p>
+ */
+class SwipeHolderPrefetcher {
+
+    private static final int SPARE_HOLDER_COUNT = 2;
+    private static final int DEFAULT_MAX_SCRAP = 5;
+
+    static final class Prepared {
+        final RecyclerView.ViewHolder mContentHolder;
+        final SwipeMenuLayout mSwipeMenuLayout;
+
+        Prepared(RecyclerView.ViewHolder contentHolder, SwipeMenuLayout swipeMenuLayout) {
+            this.mContentHolder = contentHolder;
+            this.mSwipeMenuLayout = swipeMenuLayout;
+        }
+    }
+
+    private final SwipeAdapterWrapper mAdapterWrapper;
+    private final Executor mExecutor;
+    private final SwipeViewHolderFactory mFactory;
+
+    private final SparseArrayCompat<ArrayDeque<Prepared>> mPrepared = new SparseArrayCompat<>();
+    // main thread only.
+    private final SparseIntArray mInFlight = new SparseIntArray();
+    private final SparseIntArray mAttached = new SparseIntArray();
+    private final SparseIntArray mMaxAttached = new SparseIntArray();
+
+    private RecyclerView mRecyclerView;
+
+    SwipeHolderPrefetcher(SwipeAdapterWrapper adapterWrapper, Executor executor, SwipeViewHolderFactory factory) {
+        this.mAdapterWrapper = adapterWrapper;
+        this.mExecutor = executor;
+        this.mFactory = factory;
+    }
+
+    void attach(RecyclerView recyclerView) {
+        this.mRecyclerView = recyclerView;
+    }
+
+    void detach() {
+        this.mRecyclerView = null;
+        synchronized (mPrepared) {
+            mPrepared.clear();
+        }
+    }
+
+    /**
+     * Take the prepared views of the viewType, null if there is none.
+     */
+    Prepared poll(int viewType) {
+        synchronized (mPrepared) {
+            ArrayDeque<Prepared> queue = mPrepared.get(viewType);
+            return queue == null ? null : queue.poll();
+        }
+    }
+
+    void onViewAttached(int viewType) {
+        int attached = mAttached.get(viewType) + 1;
+        mAttached.put(viewType, attached);
+        if (attached > mMaxAttached.get(viewType)) {
+            mMaxAttached.put(viewType, attached);
+            RecyclerView recyclerView = mRecyclerView;
+            if (recyclerView != null) {
+                RecyclerView.RecycledViewPool pool = recyclerView.getRecycledViewPool();
+                pool.setMaxRecycledViews(viewType, getPoolSize(viewType));
+                prefetch(viewType, SPARE_HOLDER_COUNT - pool.getRecycledViewCount(viewType));
+            }
+        }
+    }
+
+    private int getPoolSize(int viewType) {
+        return Math.max(DEFAULT_MAX_SCRAP, mMaxAttached.get(viewType) + SPARE_HOLDER_COUNT);
+    }
+
+    void onViewDetached(int viewType) {
+        mAttached.put(viewType, Math.max(0, mAttached.get(viewType) - 1));
+    }
+
+    /**
+     * Prepare some ViewHolders of the viewType, the ones already in flight are counted.
+     */
+    void prefetch(final int viewType, int count) {
+        final RecyclerView recyclerView = mRecyclerView;
+        if (recyclerView == null || !mAdapterWrapper.canPrepareViewHolder(mFactory)) return;
+        count -= mInFlight.get(viewType);
+        if (count <= 0) return;
+        mInFlight.put(viewType, mInFlight.get(viewType) + count);
+
+        final LayoutInflater inflater = LayoutInflater.from(recyclerView.getContext());
+        for (int i = 0; i < count; i++) {
+            mExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    Prepared prepared = null;
+                    try {
+                        // LayoutInflater is not thread safe, the same as AsyncLayoutInflater.
+                        LayoutInflater threadInflater = inflater.cloneInContext(recyclerView.getContext());
+                        prepared = mAdapterWrapper.prepareViewHolder(threadInflater, recyclerView, viewType, mFactory);
+                    } catch (RuntimeException e) {
+                        e.printStackTrace();
+                    }
+                    final Prepared result = prepared;
+                    recyclerView.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            onPrepared(recyclerView, viewType, result);
+                        }
+                    });
+                }
+            });
+        }
+    }
+
+    private void onPrepared(RecyclerView recyclerView, int viewType, Prepared prepared) {
+        mInFlight.put(viewType, Math.max(0, mInFlight.get(viewType) - 1));
+        if (prepared == null || recyclerView != mRecyclerView) return;
+        synchronized (mPrepared) {
+            ArrayDeque<Prepared> queue = mPrepared.get(viewType);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                mPrepared.put(viewType, queue);
+            }
+            queue.add(prepared);
+        }
+        RecyclerView.RecycledViewPool pool = recyclerView.getRecycledViewPool();
+        if (pool.getRecycledViewCount(viewType) >= getPoolSize(viewType)) {
+            return;
+        }
+        // the scroll may have used it already.
+        Prepared check;
+        synchronized (mPrepared) {
+            check = mPrepared.get(viewType).peek();
+        }
+        if (check != null) {
+            pool.putRecycledView(mAdapterWrapper.createViewHolder(recyclerView, viewType));
+        }
+    }
+}
@@ -17,7 +17,6 @@ package com.yanzhenjie.recyclerview.swipe;
 
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.OverScroller;
 
 /**
  * Created by Yan Zhenjie on 2016/7/22.
@@ -50,9 +49,12 @@ abstract class SwipeHorizontal {
 
     public abstract boolean isMenuOpenNotEqual(int scrollX);
 
-    public abstract void autoOpenMenu(OverScroller scroller, int scrollX, int duration);
-
-    public abstract void autoCloseMenu(OverScroller scroller, int scrollX, int duration);
+    /**
+     * The scrollX of the layout when the menu is completely open.
+     */
+    public int getOpenScrollX() {
+        return -getMenuView().getWidth() * getDirection();
+    }
 
     public abstract Checker checkXY(int x, int y);
 
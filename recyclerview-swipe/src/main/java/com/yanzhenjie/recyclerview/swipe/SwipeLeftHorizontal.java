@@ -16,7 +16,6 @@
 package com.yanzhenjie.recyclerview.swipe;
 
 import android.view.View;
-import android.widget.OverScroller;
 
 /**
  * Created by Yan Zhenjie on 2016/7/22.
@@ -38,16 +37,6 @@ class SwipeLeftHorizontal extends SwipeHorizontal {
         return scrollX < -getMenuView().getWidth() * getDirection();
     }
 
-    @Override
-    public void autoOpenMenu(OverScroller scroller, int scrollX, int duration) {
-        scroller.startScroll(Math.abs(scrollX), 0, getMenuView().getWidth() - Math.abs(scrollX), 0, duration);
-    }
-
-    @Override
-    public void autoCloseMenu(OverScroller scroller, int scrollX, int duration) {
-        scroller.startScroll(-Math.abs(scrollX), 0, Math.abs(scrollX), 0, duration);
-    }
-
     @Override
     public Checker checkXY(int x, int y) {
         mChecker.x = x;
@@ -37,15 +37,20 @@ public class SwipeMenu {
     public static final int HORIZONTAL = LinearLayout.HORIZONTAL;
     public static final int VERTICAL = LinearLayout.VERTICAL;
 
+    private Context mContext;
     private SwipeMenuLayout mSwipeMenuLayout;
 
     private int mViewType;
 
     private int orientation = HORIZONTAL;
 
+    private float mOpenPercent = -1;
+    private int mScrollerDuration = -1;
+
     private List<SwipeMenuItem> mSwipeMenuItems = new ArrayList<>(2);
 
     public SwipeMenu(SwipeMenuLayout swipeMenuLayout, int viewType) {
+        this.mContext = swipeMenuLayout.getContext();
         this.mSwipeMenuLayout = swipeMenuLayout;
         this.mViewType = viewType;
     }
@@ -56,10 +61,11 @@ public class SwipeMenu {
      * @param openPercent such as 0.5F.
      */
     public void setOpenPercent(float openPercent) {
-        if (openPercent != mSwipeMenuLayout.getOpenPercent()) {
-            openPercent = openPercent > 1 ? 1 : (openPercent < 0 ? 0 : openPercent);
+        openPercent = openPercent > 1 ? 1 : (openPercent < 0 ? 0 : openPercent);
+        if (mSwipeMenuLayout != null && openPercent != mSwipeMenuLayout.getOpenPercent()) {
             mSwipeMenuLayout.setOpenPercent(openPercent);
         }
+        this.mOpenPercent = openPercent;
     }
 
     /**
@@ -68,7 +74,26 @@ public class SwipeMenu {
      * @param scrollerDuration such 500.
      */
     public void setScrollerDuration(int scrollerDuration) {
-        this.mSwipeMenuLayout.setScrollerDuration(scrollerDuration);
+        if (mSwipeMenuLayout != null) mSwipeMenuLayout.setScrollerDuration(scrollerDuration);
+        this.mScrollerDuration = scrollerDuration;
+    }
+
+    /**
+     * Apply the layout settings recorded when this menu was created as a template.
+     *
+     * @param swipeMenuLayout the layout of another ViewHolder with the same viewType.
+     */
+    void applyTo(SwipeMenuLayout swipeMenuLayout) {
+        if (mOpenPercent >= 0) swipeMenuLayout.setOpenPercent(mOpenPercent);
+        if (mScrollerDuration >= 0) swipeMenuLayout.setScrollerDuration(mScrollerDuration);
+    }
+
+    /**
+     * Drop the layout this menu was created with, a template outlives the ViewHolder of that layout. The settings
+     * made after this are recorded and applied by {@link #applyTo(SwipeMenuLayout)}.
+     */
+    void detachLayout() {
+        this.mSwipeMenuLayout = null;
     }
 
     /**
@@ -111,7 +136,7 @@ public class SwipeMenu {
     }
 
     public Context getContext() {
-        return mSwipeMenuLayout.getContext();
+        return mContext;
     }
 
     public int getViewType() {
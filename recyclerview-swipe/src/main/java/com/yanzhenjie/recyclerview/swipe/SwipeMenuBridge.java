@@ -33,7 +33,7 @@ public final class SwipeMenuBridge {
     @SwipeMenuRecyclerView.DirectionMode
     private final int mDirection;
     private final int mPosition;
-    private final SwipeSwitch mSwipeSwitch;
+    SwipeSwitch mSwipeSwitch;
     private final View mViewRoot;
 
     int mAdapterPosition;
@@ -22,6 +22,7 @@ public interface SwipeMenuCreator {
 
     /**
      * Create menu for recyclerVie item.
+     * <p>It is called once for each viewType, the menus are reused as templates for every item of that viewType.</p>
      *
      * @param swipeLeftMenu  The menu on the left.
      * @param swipeRightMenu The menu on the right.
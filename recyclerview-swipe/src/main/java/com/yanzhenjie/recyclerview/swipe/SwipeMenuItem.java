@@ -70,6 +70,13 @@ public class SwipeMenuItem {
         return background;
     }
 
+    /**
+     * A drawable can only be attached to one view, create a new one sharing the same constant state.
+     */
+    Drawable newBackground() {
+        return newDrawable(background);
+    }
+
     public SwipeMenuItem setImage(@DrawableRes int resId) {
         return setImage(ContextCompat.getDrawable(mContext, resId));
     }
@@ -83,6 +90,16 @@ public class SwipeMenuItem {
         return icon;
     }
 
+    Drawable newImage() {
+        return newDrawable(icon);
+    }
+
+    private Drawable newDrawable(Drawable drawable) {
+        if (drawable == null) return null;
+        Drawable.ConstantState state = drawable.getConstantState();
+        return state == null ? drawable : state.newDrawable(mContext.getResources());
+    }
+
     public SwipeMenuItem setText(@StringRes int resId) {
         return setText(mContext.getString(resId));
     }
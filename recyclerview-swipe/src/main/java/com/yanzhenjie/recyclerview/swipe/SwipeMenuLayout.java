@@ -17,21 +17,19 @@ package com.yanzhenjie.recyclerview.swipe;
 
 import android.content.Context;
 import android.content.res.TypedArray;
-import androidx.core.view.ViewCompat;
 import android.util.AttributeSet;
 import android.view.Gravity;
 import android.view.MotionEvent;
-import android.view.VelocityTracker;
 import android.view.View;
 import android.view.ViewConfiguration;
+import android.view.ViewParent;
 import android.widget.FrameLayout;
-import android.widget.OverScroller;
 import android.widget.TextView;
 
 /**
  * Created by Yan Zhenjie on 2016/7/27.
  */
-public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
+public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch, SwipeMenuSpring.Target {
 
     public static final int DEFAULT_SCROLLER_DURATION = 200;
 
@@ -54,11 +52,32 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
     private boolean shouldResetSwipe;
     private boolean mDragging;
     private boolean swipeEnable = true;
-    private OverScroller mScroller;
-    private VelocityTracker mVelocityTracker;
+    private SwipeMenuSpring mSpring;
+    private int mPendingOpenDirection;
     private int mScaledMinimumFlingVelocity;
     private int mScaledMaximumFlingVelocity;
 
+    private MenuAttacher mMenuAttacher;
+    private boolean mMenuAttached;
+    private boolean mMenuDetachPending;
+
+    /**
+     * Attach the menu views only when they are needed, see {@link #setMenuAttacher(MenuAttacher)}.
+     */
+    interface MenuAttacher {
+
+        /**
+         * The user starts to swipe, or a menu is opened by code.
+         * Call {@link #attachMenuViews(SwipeMenuView, SwipeMenuView)} here.
+         */
+        void onAttachMenu(SwipeMenuLayout swipeMenuLayout);
+
+        /**
+         * The menu is completely closed, the views have been removed and can be reused.
+         */
+        void onDetachMenu(SwipeMenuLayout swipeMenuLayout, SwipeMenuView leftMenu, SwipeMenuView rightMenu);
+    }
+
 
     public SwipeMenuLayout(Context context) {
         this(context, null);
@@ -81,8 +100,32 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
         mScaledTouchSlop = configuration.getScaledTouchSlop();
         mScaledMinimumFlingVelocity = configuration.getScaledMinimumFlingVelocity();
         mScaledMaximumFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+    }
 
-        mScroller = new OverScroller(getContext());
+    /**
+     * The spring is shared by the rows of the SwipeMenuRecyclerView, a standalone layout uses the default one.
+     */
+    private SwipeMenuSpring getSpring() {
+        if (mSpring == null) {
+            ViewParent parent = getParent();
+            while (parent != null && !(parent instanceof SwipeMenuRecyclerView)) {
+                parent = parent.getParent();
+            }
+            mSpring = parent == null
+                    ? SwipeMenuSpring.getDefault()
+                    : ((SwipeMenuRecyclerView) parent).getSwipeMenuSpring();
+        }
+        return mSpring;
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        if (mSpring != null) {
+            mSpring.finish(this);
+            // the row may be attached to another list.
+            mSpring = null;
+        }
+        super.onDetachedFromWindow();
     }
 
     @Override
@@ -109,6 +152,65 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
         }
     }
 
+    /**
+     * Create the menu views on demand, the layout only holds the content view until the user swipes.
+     */
+    void setMenuAttacher(MenuAttacher menuAttacher) {
+        this.mMenuAttacher = menuAttacher;
+    }
+
+    /**
+     * Make sure the menu views exist and are laid out, before a swipe or an open.
+     */
+    void ensureMenuAttached() {
+        if (mMenuAttacher == null || mMenuAttached) return;
+        mMenuAttached = true;
+        mMenuAttacher.onAttachMenu(this);
+        if (getWidth() > 0) {
+            // the menu width is needed by the following scroll, do not wait for the next layout pass.
+            measure(MeasureSpec.makeMeasureSpec(getWidth(), MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(getHeight(), MeasureSpec.EXACTLY));
+            layout(getLeft(), getTop(), getRight(), getBottom());
+        }
+    }
+
+    void attachMenuViews(SwipeMenuView leftMenu, SwipeMenuView rightMenu) {
+        if (leftMenu != null) {
+            leftMenu.bindSwipeSwitch(this);
+            addView(leftMenu, 0, new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.MATCH_PARENT));
+            mSwipeLeftHorizontal = new SwipeLeftHorizontal(leftMenu);
+        }
+        if (rightMenu != null) {
+            rightMenu.bindSwipeSwitch(this);
+            addView(rightMenu, new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.MATCH_PARENT));
+            mSwipeRightHorizontal = new SwipeRightHorizontal(rightMenu);
+        }
+    }
+
+    /**
+     * Give the menu views back when the menu is completely closed.
+     */
+    void detachMenuIfClosed() {
+        mMenuDetachPending = false;
+        if (!mMenuAttached || mDragging || getScrollX() != 0 || isSpringRunning()) return;
+        SwipeMenuView leftMenu = mSwipeLeftHorizontal == null ? null : (SwipeMenuView) mSwipeLeftHorizontal.getMenuView();
+        SwipeMenuView rightMenu = mSwipeRightHorizontal == null ? null : (SwipeMenuView) mSwipeRightHorizontal.getMenuView();
+        if (leftMenu != null) removeView(leftMenu);
+        if (rightMenu != null) removeView(rightMenu);
+        mSwipeLeftHorizontal = null;
+        mSwipeRightHorizontal = null;
+        mSwipeCurrentHorizontal = null;
+        mMenuAttached = false;
+        mMenuAttacher.onDetachMenu(this, leftMenu, rightMenu);
+    }
+
+    private final Runnable mDetachMenuRunnable = new Runnable() {
+        @Override
+        public void run() {
+            detachMenuIfClosed();
+        }
+    };
+
     /**
      * Set whether open swipe. Default is true.
      *
@@ -146,7 +248,7 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
     }
 
     /**
-     * The duration of the set.
+     * The duration of the set, about how long the spring takes to open or close the menu.
      *
      * @param scrollerDuration such as 500.
      */
@@ -162,6 +264,7 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
             case MotionEvent.ACTION_DOWN: {
                 mDownX = mLastX = (int) ev.getX();
                 mDownY = (int) ev.getY();
+                getSpring().clearMovement();
                 return false;
             }
             case MotionEvent.ACTION_MOVE: {
@@ -180,8 +283,7 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
                 return false;
             }
             case MotionEvent.ACTION_CANCEL: {
-                if (!mScroller.isFinished())
-                    mScroller.abortAnimation();
+                getSpring().stop(this);
                 return false;
             }
         }
@@ -190,11 +292,13 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
 
     @Override
     public boolean onTouchEvent(MotionEvent ev) {
-        if (mVelocityTracker == null) mVelocityTracker = VelocityTracker.obtain();
-        mVelocityTracker.addMovement(ev);
+        SwipeMenuSpring spring = getSpring();
+        int action = ev.getAction();
+        // the tracker is shared by all the rows, start over with a new gesture.
+        if (action == MotionEvent.ACTION_DOWN) spring.clearMovement();
+        spring.addMovement(ev);
         int dx;
         int dy;
-        int action = ev.getAction();
         switch (action) {
             case MotionEvent.ACTION_DOWN: {
                 mLastX = (int) ev.getX();
@@ -207,6 +311,9 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
                 int disY = (int) (mLastY - ev.getY());
                 if (!mDragging && Math.abs(disX) > mScaledTouchSlop && Math.abs(disX) > Math.abs(disY)) {
                     mDragging = true;
+                    // catch the menu if it is still moving.
+                    spring.stop(this);
+                    ensureMenuAttached();
                 }
                 if (mDragging) {
                     if (mSwipeCurrentHorizontal == null || shouldResetSwipe) {
@@ -233,33 +340,18 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
                 dx = (int) (mDownX - ev.getX());
                 dy = (int) (mDownY - ev.getY());
                 mDragging = false;
-                mVelocityTracker.computeCurrentVelocity(1000, mScaledMaximumFlingVelocity);
-                int velocityX = (int) mVelocityTracker.getXVelocity();
-                int velocity = Math.abs(velocityX);
-                if (velocity > mScaledMinimumFlingVelocity) {
+                float velocityX = spring.computeVelocityX(mScaledMaximumFlingVelocity);
+                spring.clearMovement();
+                if (Math.abs(velocityX) > mScaledMinimumFlingVelocity) {
                     if (mSwipeCurrentHorizontal != null) {
-                        int duration = getSwipeDuration(ev, velocity);
-                        if (mSwipeCurrentHorizontal instanceof SwipeRightHorizontal) {
-                            if (velocityX < 0) {
-                                smoothOpenMenu(duration);
-                            } else {
-                                smoothCloseMenu(duration);
-                            }
-                        } else {
-                            if (velocityX > 0) {
-                                smoothOpenMenu(duration);
-                            } else {
-                                smoothCloseMenu(duration);
-                            }
-                        }
-                        ViewCompat.postInvalidateOnAnimation(this);
+                        // the content follows the finger, scrollX moves the other way.
+                        boolean open = mSwipeCurrentHorizontal instanceof SwipeRightHorizontal ? velocityX < 0 : velocityX > 0;
+                        int targetX = open ? mSwipeCurrentHorizontal.getOpenScrollX() : 0;
+                        spring.animateTo(this, targetX, -velocityX, mScrollerDuration);
                     }
                 } else {
                     judgeOpenClose(dx, dy);
                 }
-                mVelocityTracker.clear();
-                mVelocityTracker.recycle();
-                mVelocityTracker = null;
                 if (Math.abs(mDownX - ev.getX()) > mScaledTouchSlop
                         || Math.abs(mDownY - ev.getY()) > mScaledTouchSlop
                         || isLeftMenuOpen()
@@ -272,8 +364,9 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
             }
             case MotionEvent.ACTION_CANCEL: {
                 mDragging = false;
-                if (!mScroller.isFinished()) {
-                    mScroller.abortAnimation();
+                spring.clearMovement();
+                if (spring.isRunning(this)) {
+                    spring.stop(this);
                 } else {
                     dx = (int) (mDownX - ev.getX());
                     dy = (int) (mDownY - ev.getY());
@@ -286,34 +379,30 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
     }
 
     /**
-     * compute finish duration.
+     * Open or close the menu without animation, when a row is bound. If the row is not laid out yet, the menu is
+     * opened after the layout.
      *
-     * @param ev       up event.
-     * @param velocity velocity x.
-     * @return finish duration.
+     * @param direction {@link SwipeMenuRecyclerView#LEFT_DIRECTION}, {@link SwipeMenuRecyclerView#RIGHT_DIRECTION},
+     *                  or 0 to close it.
      */
-    private int getSwipeDuration(MotionEvent ev, int velocity) {
-        int sx = getScrollX();
-        int dx = (int) (ev.getX() - sx);
-        final int width = mSwipeCurrentHorizontal.getMenuWidth();
-        final int halfWidth = width / 2;
-        final float distanceRatio = Math.min(1f, 1.0f * Math.abs(dx) / width);
-        final float distance = halfWidth + halfWidth * distanceInfluenceForSnapDuration(distanceRatio);
-        int duration;
-        if (velocity > 0) {
-            duration = 4 * Math.round(1000 * Math.abs(distance / velocity));
-        } else {
-            final float pageDelta = (float) Math.abs(dx) / width;
-            duration = (int) ((pageDelta + 1) * 100);
+    void setMenuOpenImmediately(int direction) {
+        if (mSpring != null) mSpring.stop(this);
+        mPendingOpenDirection = 0;
+        if (direction == 0) {
+            if (getScrollX() != 0) scrollTo(0, 0);
+            return;
         }
-        duration = Math.min(duration, mScrollerDuration);
-        return duration;
-    }
-
-    float distanceInfluenceForSnapDuration(float f) {
-        f -= 0.5f; // center the values about 0.
-        f *= 0.3f * Math.PI / 2.0f;
-        return (float) Math.sin(f);
+        ensureMenuAttached();
+        SwipeHorizontal horizontal = direction == SwipeMenuRecyclerView.LEFT_DIRECTION
+                ? mSwipeLeftHorizontal
+                : mSwipeRightHorizontal;
+        if (horizontal == null) return;
+        if (horizontal.getMenuWidth() == 0) {
+            mPendingOpenDirection = direction;
+            return;
+        }
+        mSwipeCurrentHorizontal = horizontal;
+        scrollTo(horizontal.getOpenScrollX(), 0);
     }
 
     private void judgeOpenClose(int dx, int dy) {
@@ -345,16 +434,16 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
         }
     }
 
+    private boolean isSpringRunning() {
+        return mSpring != null && mSpring.isRunning(this);
+    }
+
     @Override
     public void computeScroll() {
-        if (mScroller.computeScrollOffset() && mSwipeCurrentHorizontal != null) {
-            if (mSwipeCurrentHorizontal instanceof SwipeRightHorizontal) {
-                scrollTo(Math.abs(mScroller.getCurrX()), 0);
-                invalidate();
-            } else {
-                scrollTo(-Math.abs(mScroller.getCurrX()), 0);
-                invalidate();
-            }
+        if (!isSpringRunning() && mMenuAttached && !mMenuDetachPending && !mDragging && getScrollX() == 0) {
+            // views can not be removed while drawing.
+            mMenuDetachPending = true;
+            post(mDetachMenuRunnable);
         }
     }
 
@@ -428,6 +517,7 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
 
     @Override
     public void smoothOpenLeftMenu(int duration) {
+        ensureMenuAttached();
         if (mSwipeLeftHorizontal != null) {
             mSwipeCurrentHorizontal = mSwipeLeftHorizontal;
             smoothOpenMenu(duration);
@@ -436,6 +526,7 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
 
     @Override
     public void smoothOpenRightMenu(int duration) {
+        ensureMenuAttached();
         if (mSwipeRightHorizontal != null) {
             mSwipeCurrentHorizontal = mSwipeRightHorizontal;
             smoothOpenMenu(duration);
@@ -444,8 +535,7 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
 
     private void smoothOpenMenu(int duration) {
         if (mSwipeCurrentHorizontal != null) {
-            mSwipeCurrentHorizontal.autoOpenMenu(mScroller, getScrollX(), duration);
-            invalidate();
+            getSpring().animateTo(this, mSwipeCurrentHorizontal.getOpenScrollX(), 0, duration);
         }
     }
 
@@ -473,8 +563,7 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
     @Override
     public void smoothCloseMenu(int duration) {
         if (mSwipeCurrentHorizontal != null) {
-            mSwipeCurrentHorizontal.autoCloseMenu(mScroller, getScrollX(), duration);
-            invalidate();
+            getSpring().animateTo(this, 0, 0, duration);
         }
     }
 
@@ -542,6 +631,10 @@ public class SwipeMenuLayout extends FrameLayout implements SwipeSwitch {
             int parentViewWidth = getMeasuredWidthAndState();
             rightMenu.layout(parentViewWidth, top, parentViewWidth + menuViewWidth, top + menuViewHeight);
         }
+
+        if (mPendingOpenDirection != 0) {
+            setMenuOpenImmediately(mPendingOpenDirection);
+        }
     }
 
 }
@@ -15,10 +15,12 @@
  */
 package com.yanzhenjie.recyclerview.swipe;
 
-import android.animation.ValueAnimator;
 import android.content.Context;
+import android.graphics.Rect;
+import android.os.Build;
 import androidx.annotation.IntDef;
 import androidx.annotation.NonNull;
+import androidx.core.view.ViewCompat;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -32,15 +34,22 @@ import android.view.ViewGroup;
 import android.view.ViewParent;
 
 import com.yanzhenjie.recyclerview.swipe.touch.DefaultItemTouchHelper;
+import com.yanzhenjie.recyclerview.swipe.touch.GestureArbiter;
+import com.yanzhenjie.recyclerview.swipe.touch.ItemDismissSession;
+import com.yanzhenjie.recyclerview.swipe.touch.ItemReorderSession;
+import com.yanzhenjie.recyclerview.swipe.touch.OnItemDismissBatchListener;
 import com.yanzhenjie.recyclerview.swipe.touch.OnItemMoveListener;
 import com.yanzhenjie.recyclerview.swipe.touch.OnItemMovementListener;
+import com.yanzhenjie.recyclerview.swipe.touch.OnItemReorderListener;
 import com.yanzhenjie.recyclerview.swipe.touch.OnItemStateChangedListener;
 import com.yanzhenjie.recyclerview.swipe.widget.DefaultLoadMoreView;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Created by Yan Zhenjie on 2016/7/27.
@@ -62,28 +71,34 @@ public class SwipeMenuRecyclerView extends RecyclerView {
     public @interface DirectionMode {
     }
 
-    /**
-     * Invalid position.
-     */
-    private static final int INVALID_POSITION = -1;
-
     protected int mScaleTouchSlop;
     protected SwipeMenuLayout mOldSwipedLayout;
-    protected int mOldTouchedPosition = INVALID_POSITION;
+    /**
+     * Stable id of the touched item, or its adapter position when the adapter has no stable ids.
+     */
+    protected long mOldTouchedId = NO_ID;
 
     private int mDownX;
-    private int mDownY;
+    private GestureArbiter mGestureArbiter;
 
     private boolean allowSwipeDelete = false;
 
     private DefaultItemTouchHelper mDefaultItemTouchHelper;
 
     private SwipeMenuCreator mSwipeMenuCreator;
+    private boolean mSwipeMenuLazy;
+    private Executor mPrefetchExecutor;
+    private SwipeViewHolderFactory mPrefetchFactory;
     private SwipeMenuItemClickListener mSwipeMenuItemClickListener;
     private SwipeItemClickListener mSwipeItemClickListener;
     private SwipeItemLongClickListener mSwipeItemLongClickListener;
+    private OnItemReorderListener mOnItemReorderListener;
+    private OnItemDismissBatchListener mOnItemDismissBatchListener;
+    private long mItemDismissWindow;
 
     private SwipeAdapterWrapper mAdapterWrapper;
+    private SwipeMenuSpring mSwipeMenuSpring;
+    private final SwipeMenuStateStore mMenuStateStore = new SwipeMenuStateStore();
 
     public SwipeMenuRecyclerView(Context context) {
         this(context, null);
@@ -96,11 +111,85 @@ public class SwipeMenuRecyclerView extends RecyclerView {
     public SwipeMenuRecyclerView(Context context, AttributeSet attrs, int defStyle) {
         super(context, attrs, defStyle);
         mScaleTouchSlop = ViewConfiguration.get(getContext()).getScaledTouchSlop();
+        mGestureArbiter = new GestureArbiter(this, mScaleTouchSlop);
+    }
+
+    /**
+     * The menus of all the rows are moved by this spring, only one row moves at a time.
+     */
+    SwipeMenuSpring getSwipeMenuSpring() {
+        if (mSwipeMenuSpring == null) {
+            mSwipeMenuSpring = new SwipeMenuSpring() {
+                @Override
+                void onTarget(Target target, int targetX) {
+                    if (target instanceof SwipeMenuLayout) saveMenuState((SwipeMenuLayout) target, targetX);
+                }
+
+                @Override
+                void onRest(Target target) {
+                    if (target == mZoomTarget) onZoomRest();
+                }
+            };
+        }
+        return mSwipeMenuSpring;
+    }
+
+    /**
+     * Remember the open menu, there is only one, so the others are closed in a single pass over the rows.
+     */
+    private void saveMenuState(SwipeMenuLayout layout, int targetX) {
+        View itemView = findContainingItemView(layout);
+        ViewHolder vh = itemView == null ? null : getChildViewHolder(itemView);
+        long id = getTouchedId(vh);
+        if (id == NO_ID) return;
+        if (targetX == 0) {
+            mMenuStateStore.remove(id);
+            return;
+        }
+        for (int i = 0, count = getChildCount(); i < count; i++) {
+            SwipeMenuLayout other = getSwipeMenuLayout(getChildViewHolder(getChildAt(i)));
+            if (other != null && other != layout && other.getScrollX() != 0) {
+                // the spring moves one row only, the others are closed at once.
+                other.setMenuOpenImmediately(0);
+            }
+        }
+        mMenuStateStore.clear();
+        mMenuStateStore.put(id, targetX > 0 ? RIGHT_DIRECTION : LEFT_DIRECTION);
+        mOldSwipedLayout = layout;
+        mOldTouchedId = id;
+    }
+
+    @Override
+    public void onChildAttachedToWindow(View child) {
+        super.onChildAttachedToWindow(child);
+        // a recycled row comes back with the offset of its last item, restore the state of the new one.
+        // a row rebound in place is not attached again, it keeps showing the state of its item.
+        ViewHolder vh = getChildViewHolder(child);
+        SwipeMenuLayout swipeMenuLayout = getSwipeMenuLayout(vh);
+        if (swipeMenuLayout != null) {
+            long id = getTouchedId(vh);
+            swipeMenuLayout.setMenuOpenImmediately(id == NO_ID ? 0 : mMenuStateStore.get(id));
+        }
+        if (mZoomViewHeaderBg != null && child != mHeaderView) child.setTranslationY(mZoomDistance);
+    }
+
+    @Override
+    public void onChildDetachedFromWindow(View child) {
+        super.onChildDetachedFromWindow(child);
+        // 回收的条目不能带着放大时的下移。
+        if (mZoomViewHeaderBg != null && child != mHeaderView) child.setTranslationY(0);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        if (mSwipeMenuSpring != null) mSwipeMenuSpring.release();
+        super.onDetachedFromWindow();
     }
 
     private void initializeItemTouchHelper() {
         if (mDefaultItemTouchHelper == null) {
             mDefaultItemTouchHelper = new DefaultItemTouchHelper();
+            mDefaultItemTouchHelper.setGestureArbiter(mGestureArbiter);
             mDefaultItemTouchHelper.attachToRecyclerView(this);
         }
     }
@@ -115,6 +204,89 @@ public class SwipeMenuRecyclerView extends RecyclerView {
         this.mDefaultItemTouchHelper.setOnItemMoveListener(onItemMoveListener);
     }
 
+    /**
+     * Set OnItemReorderListener, the dragged item is moved in the data only once when it is dropped, instead of
+     * {@link OnItemMoveListener#onItemMove(ViewHolder, ViewHolder)} at every step.
+     *
+     * @param onItemReorderListener {@link OnItemReorderListener}.
+     */
+    public void setOnItemReorderListener(OnItemReorderListener onItemReorderListener) {
+        initializeItemTouchHelper();
+        this.mOnItemReorderListener = onItemReorderListener;
+        if (mAdapterWrapper != null) {
+            mAdapterWrapper.setOnItemReorderListener(onItemReorderListener);
+        }
+        this.mDefaultItemTouchHelper.setItemReorderSession(onItemReorderListener == null ? null : mItemReorderSession);
+    }
+
+    private ItemReorderSession mItemReorderSession = new ItemReorderSession() {
+        @Override
+        public boolean onReorderMove(int fromPosition, int toPosition) {
+            return mAdapterWrapper != null && mAdapterWrapper.moveReorder(fromPosition, toPosition);
+        }
+
+        @Override
+        public void onReorderDrop() {
+            if (mAdapterWrapper != null) mAdapterWrapper.dropReorder();
+        }
+    };
+
+    /**
+     * Set OnItemDismissBatchListener, the items swiped out in the same frame are removed together, instead of
+     * {@link OnItemMoveListener#onItemDismiss(ViewHolder)} for every item.
+     *
+     * @param onItemDismissBatchListener {@link OnItemDismissBatchListener}.
+     */
+    public void setOnItemDismissBatchListener(OnItemDismissBatchListener onItemDismissBatchListener) {
+        setOnItemDismissBatchListener(onItemDismissBatchListener, 0);
+    }
+
+    /**
+     * Set OnItemDismissBatchListener, the items swiped out in the window are removed together.
+     *
+     * @param onItemDismissBatchListener {@link OnItemDismissBatchListener}.
+     * @param windowMillis               how long to wait for the next swiped item, 0 means the next frame.
+     */
+    public void setOnItemDismissBatchListener(OnItemDismissBatchListener onItemDismissBatchListener, long windowMillis) {
+        initializeItemTouchHelper();
+        removeCallbacks(mDismissPendingRunnable);
+        this.mOnItemDismissBatchListener = onItemDismissBatchListener;
+        this.mItemDismissWindow = windowMillis;
+        if (mAdapterWrapper != null) {
+            mAdapterWrapper.setOnItemDismissBatchListener(onItemDismissBatchListener);
+        }
+        this.mDefaultItemTouchHelper.setItemDismissSession(onItemDismissBatchListener == null ? null : mItemDismissSession);
+    }
+
+    /**
+     * Put back the items removed by the last batch, it should be called before the data is changed again.
+     *
+     * @return false if there is nothing to restore.
+     */
+    public boolean undoItemsDismiss() {
+        removeCallbacks(mDismissPendingRunnable);
+        return mAdapterWrapper != null && mAdapterWrapper.restoreDismissed();
+    }
+
+    private ItemDismissSession mItemDismissSession = new ItemDismissSession() {
+        @Override
+        public void onItemDismiss(ViewHolder viewHolder) {
+            if (mAdapterWrapper == null || !mAdapterWrapper.queueDismiss(viewHolder)) return;
+            if (mItemDismissWindow > 0) {
+                postDelayed(mDismissPendingRunnable, mItemDismissWindow);
+            } else {
+                ViewCompat.postOnAnimation(SwipeMenuRecyclerView.this, mDismissPendingRunnable);
+            }
+        }
+    };
+
+    private Runnable mDismissPendingRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (mAdapterWrapper != null) mAdapterWrapper.dismissPending();
+        }
+    };
+
     /**
      * Set OnItemMovementListener.
      *
@@ -267,6 +439,48 @@ public class SwipeMenuRecyclerView extends RecyclerView {
         this.mSwipeMenuCreator = menuCreator;
     }
 
+    /**
+     * Create the menu views only when an item is swiped or opened, and give them back when it is closed.
+     * <p>
+     * Each item only holds its content until then, the menu views are shared by the items of the same viewType.
+     * </p>
+     */
+    public void setSwipeMenuLazyEnabled(boolean lazy) {
+        checkAdapterExist("Cannot set menu lazy, setAdapter has already been called.");
+        this.mSwipeMenuLazy = lazy;
+    }
+
+    /**
+     * Inflate the items on a background thread ahead of time, and keep them in the RecycledViewPool.
+     * <p>
+     * The pool size of each viewType follows the most items of that type seen on the screen.
+     * Without a factory only the swipe menu shells are prefetched, the origin adapter's onCreateViewHolder is still
+     * called on the main thread.
+     * </p>
+     *
+     * @param executor the thread to inflate the views, null to stop prefetching.
+     * @param factory  create the content ViewHolder on the executor, can be null.
+     */
+    public void setAsyncPrefetch(Executor executor, SwipeViewHolderFactory factory) {
+        this.mPrefetchExecutor = executor;
+        this.mPrefetchFactory = factory;
+        if (mAdapterWrapper != null) {
+            mAdapterWrapper.setAsyncPrefetch(executor, factory);
+        }
+    }
+
+    /**
+     * Prepare some items of the viewType in the background, such as before showing a new section.
+     *
+     * @param viewType the view type of the origin adapter.
+     * @param count    how many ViewHolders.
+     */
+    public void prefetchViewHolders(int viewType, int count) {
+        if (mAdapterWrapper != null) {
+            mAdapterWrapper.prefetchViewHolders(viewType, count);
+        }
+    }
+
     /**
      * Set to click menu listener.
      */
@@ -330,7 +544,12 @@ public class SwipeMenuRecyclerView extends RecyclerView {
     public void setAdapter(Adapter adapter) {
         if (mAdapterWrapper != null) {
             mAdapterWrapper.getOriginAdapter().unregisterAdapterDataObserver(mAdapterDataObserver);
+            if (mScrollOffsetTracker != null) {
+                mAdapterWrapper.unregisterAdapterDataObserver(mScrollOffsetTracker);
+            }
+            mAdapterWrapper.unregisterAdapterDataObserver(mMenuStateObserver);
         }
+        mMenuStateStore.clear();
 
         if (adapter == null) {
             mAdapterWrapper = null;
@@ -341,7 +560,12 @@ public class SwipeMenuRecyclerView extends RecyclerView {
             mAdapterWrapper.setSwipeItemClickListener(mSwipeItemClickListener);
             mAdapterWrapper.setSwipeItemLongClickListener(mSwipeItemLongClickListener);
             mAdapterWrapper.setSwipeMenuCreator(mSwipeMenuCreator);
+            mAdapterWrapper.setSwipeMenuLazy(mSwipeMenuLazy);
+            mAdapterWrapper.setAsyncPrefetch(mPrefetchExecutor, mPrefetchFactory);
             mAdapterWrapper.setSwipeMenuItemClickListener(mSwipeMenuItemClickListener);
+            mAdapterWrapper.setOnItemReorderListener(mOnItemReorderListener);
+            mAdapterWrapper.setOnItemDismissBatchListener(mOnItemDismissBatchListener);
+            mAdapterWrapper.registerAdapterDataObserver(mMenuStateObserver);
 
             if (mHeaderViewList.size() > 0) {
                 for (View view : mHeaderViewList) {
@@ -355,11 +579,18 @@ public class SwipeMenuRecyclerView extends RecyclerView {
             }
         }
         super.setAdapter(mAdapterWrapper);
+        if (mScrollOffsetTracker != null) {
+            if (mAdapterWrapper != null) {
+                mAdapterWrapper.registerAdapterDataObserver(mScrollOffsetTracker);
+            }
+            mScrollOffsetTracker.onChanged();
+        }
     }
 
     private AdapterDataObserver mAdapterDataObserver = new AdapterDataObserver() {
         @Override
         public void onChanged() {
+            mLastVisiblePosition = NO_POSITION;
             mAdapterWrapper.notifyDataSetChanged();
         }
 
@@ -395,6 +626,31 @@ public class SwipeMenuRecyclerView extends RecyclerView {
         }
     };
 
+    /**
+     * Without stable ids the open menus are keyed by position, keep them on their items.
+     */
+    private AdapterDataObserver mMenuStateObserver = new AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            if (!mAdapterWrapper.hasStableIds()) mMenuStateStore.clear();
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            if (!mAdapterWrapper.hasStableIds()) mMenuStateStore.offsetPositions(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            if (!mAdapterWrapper.hasStableIds()) mMenuStateStore.offsetPositions(positionStart, -itemCount);
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            if (!mAdapterWrapper.hasStableIds()) mMenuStateStore.movePosition(fromPosition, toPosition);
+        }
+    };
+
     private List<View> mHeaderViewList = new ArrayList<>();
     private List<View> mFooterViewList = new ArrayList<>();
 
@@ -516,17 +772,15 @@ public class SwipeMenuRecyclerView extends RecyclerView {
         }
         position += getHeaderItemCount();
         ViewHolder vh = findViewHolderForAdapterPosition(position);
-        if (vh != null) {
-            View itemView = getSwipeMenuView(vh.itemView);
-            if (itemView instanceof SwipeMenuLayout) {
-                mOldSwipedLayout = (SwipeMenuLayout) itemView;
-                if (direction == RIGHT_DIRECTION) {
-                    mOldTouchedPosition = position;
-                    mOldSwipedLayout.smoothOpenRightMenu(duration);
-                } else if (direction == LEFT_DIRECTION) {
-                    mOldTouchedPosition = position;
-                    mOldSwipedLayout.smoothOpenLeftMenu(duration);
-                }
+        SwipeMenuLayout swipeMenuLayout = getSwipeMenuLayout(vh);
+        if (swipeMenuLayout != null) {
+            mOldSwipedLayout = swipeMenuLayout;
+            if (direction == RIGHT_DIRECTION) {
+                mOldTouchedId = getTouchedId(vh);
+                mOldSwipedLayout.smoothOpenRightMenu(duration);
+            } else if (direction == LEFT_DIRECTION) {
+                mOldTouchedId = getTouchedId(vh);
+                mOldSwipedLayout.smoothOpenLeftMenu(duration);
             }
         }
     }
@@ -553,47 +807,35 @@ public class SwipeMenuRecyclerView extends RecyclerView {
             switch (action) {
                 case MotionEvent.ACTION_DOWN: {
                     mDownX = x;
-                    mDownY = y;
+                    mGestureArbiter.onDown(x, y);
                     isIntercepted = false;
 
-                    int touchingPosition = getChildAdapterPosition(findChildViewUnder(x, y));
-                    if (touchingPosition != mOldTouchedPosition && mOldSwipedLayout != null && mOldSwipedLayout.isMenuOpen()) {
+                    // 一次命中测试同时拿到 ViewHolder 和它的 SwipeMenuLayout。
+                    View touchingView = findChildViewUnder(x, y);
+                    ViewHolder vh = touchingView == null ? null : getChildViewHolder(touchingView);
+                    long touchingId = getTouchedId(vh);
+                    if (touchingId != mOldTouchedId && mOldSwipedLayout != null && mOldSwipedLayout.isMenuOpen()) {
                         mOldSwipedLayout.smoothCloseMenu();
                         isIntercepted = true;
                     }
 
                     if (isIntercepted) {
                         mOldSwipedLayout = null;
-                        mOldTouchedPosition = INVALID_POSITION;
+                        mOldTouchedId = NO_ID;
                     } else {
-                        ViewHolder vh = findViewHolderForAdapterPosition(touchingPosition);
-                        if (vh != null) {
-                            View itemView = getSwipeMenuView(vh.itemView);
-                            if (itemView instanceof SwipeMenuLayout) {
-                                mOldSwipedLayout = (SwipeMenuLayout) itemView;
-                                mOldTouchedPosition = touchingPosition;
-                            }
+                        SwipeMenuLayout swipeMenuLayout = getSwipeMenuLayout(vh);
+                        if (swipeMenuLayout != null) {
+                            mOldSwipedLayout = swipeMenuLayout;
+                            mOldTouchedId = touchingId;
                         }
                     }
                     break;
                 }
                 // They are sensitive to retain sliding and inertia.
-                case MotionEvent.ACTION_MOVE: {
-                    isIntercepted = handleUnDown(x, y, isIntercepted);
-                    if (mOldSwipedLayout == null) break;
-                    ViewParent viewParent = getParent();
-                    if (viewParent == null) break;
-
-                    int disX = mDownX - x;
-                    // 向左滑，显示右侧菜单，或者关闭左侧菜单。
-                    boolean showRightCloseLeft = disX > 0 && (mOldSwipedLayout.hasRightMenu() || mOldSwipedLayout.isLeftCompleteOpen());
-                    // 向右滑，显示左侧菜单，或者关闭右侧菜单。
-                    boolean showLeftCloseRight = disX < 0 && (mOldSwipedLayout.hasLeftMenu() || mOldSwipedLayout.isRightCompleteOpen());
-                    viewParent.requestDisallowInterceptTouchEvent(showRightCloseLeft || showLeftCloseRight);
-                }
+                case MotionEvent.ACTION_MOVE:
                 case MotionEvent.ACTION_UP:
                 case MotionEvent.ACTION_CANCEL: {
-                    isIntercepted = handleUnDown(x, y, isIntercepted);
+                    isIntercepted = arbitrate(x, y, isIntercepted);
                     break;
                 }
             }
@@ -601,17 +843,45 @@ public class SwipeMenuRecyclerView extends RecyclerView {
         return isIntercepted;
     }
 
-    private boolean handleUnDown(int x, int y, boolean defaultValue) {
-        int disX = mDownX - x;
-        int disY = mDownY - y;
-
-        // swipe
-        if (Math.abs(disX) > mScaleTouchSlop && Math.abs(disX) > Math.abs(disY))
-            return false;
-        // click
-        if (Math.abs(disY) < mScaleTouchSlop && Math.abs(disX) < mScaleTouchSlop)
-            return false;
-        return defaultValue;
+    /**
+     * The direction and the owner of the gesture are decided once, then the events go to the owner directly.
+     */
+    private boolean arbitrate(int x, int y, boolean defaultValue) {
+        switch (mGestureArbiter.getOwner()) {
+            case GestureArbiter.OWNER_SWIPE_MENU:
+                return false;
+            case GestureArbiter.OWNER_ITEM_TOUCH:
+            case GestureArbiter.OWNER_SCROLL:
+                return defaultValue;
+        }
+        switch (mGestureArbiter.resolveDirection(x, y)) {
+            case GestureArbiter.DIRECTION_VERTICAL: {
+                mGestureArbiter.claim(GestureArbiter.OWNER_SCROLL, false);
+                return defaultValue;
+            }
+            case GestureArbiter.DIRECTION_HORIZONTAL: {
+                if (mOldSwipedLayout == null) {
+                    mGestureArbiter.releaseDirection();
+                    return defaultValue;
+                }
+                int disX = mDownX - x;
+                // 向左滑，显示右侧菜单，或者关闭左侧菜单。
+                boolean showRightCloseLeft = disX > 0 && (mOldSwipedLayout.hasRightMenu() || mOldSwipedLayout.isLeftCompleteOpen());
+                // 向右滑，显示左侧菜单，或者关闭右侧菜单。
+                boolean showLeftCloseRight = disX < 0 && (mOldSwipedLayout.hasLeftMenu() || mOldSwipedLayout.isRightCompleteOpen());
+                if (showRightCloseLeft || showLeftCloseRight) {
+                    // 横向滑动开始时才创建菜单
+                    mOldSwipedLayout.ensureMenuAttached();
+                    mGestureArbiter.claim(GestureArbiter.OWNER_SWIPE_MENU, true);
+                    return false;
+                }
+                // 没有菜单可以滑出，后面的 MOVE 仍然可能变成列表滚动。
+                mGestureArbiter.releaseDirection();
+                return defaultValue;
+            }
+            default: // click
+                return false;
+        }
     }
 
     @Override
@@ -646,6 +916,7 @@ public class SwipeMenuRecyclerView extends RecyclerView {
     }
 
     private ZoomViewHeaderListener zoomListener = null;
+    private ScrollOffsetTracker mScrollOffsetTracker;
 
     public void setZoomListener(ZoomViewHeaderListener zoomListener) {
         this.zoomListener = zoomListener;
@@ -668,8 +939,33 @@ public class SwipeMenuRecyclerView extends RecyclerView {
     private float mReplyRate = 0.5f;//回调系数，越大，回调越慢
     private final static int mZoomFreshScale = 4;//刷新界面的几分之一开始更新
     private final static int mZoomFreshScaleStop = 20;//刷新界面悬停的几分之一
+    private float mZoomDistance;//当前放大的距离
+    private final Rect mZoomClipBounds = new Rect();
+    // 放大期间关闭了 clipChildren 的控件，放大结束后恢复。
+    private final List<ViewGroup> mZoomUnclipped = new ArrayList<>();
+    private boolean mZoomRefreshPending;//回弹停下后是否通知刷新
+    // 放大的距离作为 scrollX 交给 SwipeMenuSpring，回弹和侧滑菜单用同一个驱动。
+    private final SwipeMenuSpring.Target mZoomTarget = new SwipeMenuSpring.Target() {
+        @Override
+        public int getScrollX() {
+            return Math.round(mZoomDistance);
+        }
 
+        @Override
+        public void scrollTo(int x, int y) {
+            setZoomView(x);
+        }
+    };
+
+    /**
+     * Zoom the header by the touch events of the RecyclerView.
+     *
+     * @deprecated inside a SmartRefreshLayout, use its PullZoomHeader with the zoom view instead, so that pull, zoom
+     * and refresh are driven by one touch pipeline.
+     */
+    @Deprecated
     public void setmZoomView(final View mHeaderView, final View mZoomViewHeaderBg, final View mZoomViewHeader) {
+        setZoomClipChildren(true);
         this.mHeaderView = mHeaderView;
         this.mZoomViewHeaderBg = mZoomViewHeaderBg;
         this.mZoomViewHeader = mZoomViewHeader;
@@ -709,7 +1005,7 @@ public class SwipeMenuRecyclerView extends RecyclerView {
             default:
             case MotionEvent.ACTION_UP://手指离开后恢复图片
                 isScrolling = false;
-                if (mZoomViewHeader.getPaddingTop() > 0) {
+                if (mZoomDistance > 0) {
                     replyView();
                     break;
                 }
@@ -718,7 +1014,7 @@ public class SwipeMenuRecyclerView extends RecyclerView {
                 }
                 break;
             case MotionEvent.ACTION_MOVE:
-                if (mZoomViewHeader.getPaddingTop() == 0 && getScrollDistance() > 0) {
+                if (mZoomDistance == 0 && getScrollDistance() > 0) {
                     return super.onTouchEvent(ev);
                 } else {//拦截向上滑动
                     if (!isScrolling) {
@@ -733,6 +1029,10 @@ public class SwipeMenuRecyclerView extends RecyclerView {
                         break;
                     }
                     // 处理放大
+                    if (!isScrolling) {
+                        mZoomRefreshPending = false;
+                        getSwipeMenuSpring().stop(mZoomTarget);
+                    }
                     isScrolling = true;
                     setZoomView(distance);
                     return true;
@@ -743,93 +1043,112 @@ public class SwipeMenuRecyclerView extends RecyclerView {
 
     //回弹动画
     private void replyView() {
-//        final float distance = mZoomViewHeaderBg.getMeasuredHeight() - mZoomViewHeight;
-        final float distance = Math.abs(mZoomViewHeaderBg.getMeasuredHeight() - mZoomViewHeight);
-        final float stop_distance = mZoomViewHeight / mZoomFreshScaleStop;
-        float end_ = stop_distance;
-        if (distance <= (mZoomViewHeight / mZoomFreshScale)) {
-            end_ = 0;
-        }
-        ValueAnimator valueAnimator = ValueAnimator.ofFloat(distance, end_).setDuration((long) (distance * mReplyRate));
-        valueAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                setZoomView((Float) animation.getAnimatedValue());
-                if ((Float) animation.getAnimatedValue() == stop_distance) {
-                    if (distance >= (mZoomViewHeight / mZoomFreshScale)) {//是否下拉距离大于刷新界面的4分之一就刷新
-                        if (zoomListener != null) {
-                            zoomListener.freshZoomViewHeader();
-                        }
-                    }
-                }
+        final float distance = mZoomDistance;
+        final int stop_distance = mZoomViewHeight / mZoomFreshScaleStop;
+        //是否下拉距离大于刷新界面的4分之一就刷新，是的话停在悬停位置
+        mZoomRefreshPending = distance > (mZoomViewHeight / mZoomFreshScale);
+        int end_ = mZoomRefreshPending ? stop_distance : 0;
+        getSwipeMenuSpring().animateTo(this, mZoomTarget, end_, 0, (int) (distance * mReplyRate));
+    }
+
+    private void onZoomRest() {
+        if (mZoomRefreshPending) {
+            mZoomRefreshPending = false;
+            if (zoomListener != null) {
+                zoomListener.freshZoomViewHeader();
             }
-        });
-        valueAnimator.start();
+        }
     }
 
     public void endZoomViewFresh() {
-        final float stop_distance = Math.abs(mZoomViewHeaderBg.getMeasuredHeight() - mZoomViewHeight);
-        ValueAnimator valueAnimator = ValueAnimator.ofFloat(stop_distance, 0)
-                .setDuration((long) (500L));
-        valueAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                setZoomView((Float) animation.getAnimatedValue());
-            }
-        });
-        valueAnimator.start();
+        mZoomRefreshPending = false;
+        getSwipeMenuSpring().animateTo(this, mZoomTarget, 0, 0, 500);
     }
 
+    /**
+     * Zoom with scale and translation, the RecyclerView is only invalidated, nothing is laid out again.
+     */
     private void setZoomView(float distance) {
         if (mZoomViewWidth <= 0 || mZoomViewHeight <= 0) {
             return;
         }
-        ViewGroup.LayoutParams lp = mZoomViewHeaderBg.getLayoutParams();
-        lp.width = (int) (mZoomViewWidth);
-        totalZoomViewHeight = mZoomViewHeight + distance;
-        lp.height = (int) (totalZoomViewHeight);
-        mZoomViewHeaderBg.setLayoutParams(lp);
-
-        mZoomViewHeader.setPadding(0, (int) distance, 0, 0);
+        mZoomDistance = Math.max(0, distance);
+        setZoomClipChildren(mZoomDistance <= 0);
+        totalZoomViewHeight = mZoomViewHeight + mZoomDistance;
+        float scale = totalZoomViewHeight / mZoomViewHeight;
+        mZoomViewHeaderBg.setPivotX(mZoomViewWidth / 2f);
+        mZoomViewHeaderBg.setPivotY(0);
+        mZoomViewHeaderBg.setScaleX(scale);
+        mZoomViewHeaderBg.setScaleY(scale);
+        // 横向超出的部分裁掉，坐标是缩放前的。
+        int clipLeft = (int) (mZoomViewWidth * (1 - 1 / scale) / 2);
+        mZoomClipBounds.set(clipLeft, 0, mZoomViewWidth - clipLeft, mZoomViewHeight);
+        ViewCompat.setClipBounds(mZoomViewHeaderBg, scale > 1 ? mZoomClipBounds : null);
+
+        mZoomViewHeader.setTranslationY(mZoomDistance);
+        // Header 下面的条目整体下移，和放大的背景衔接，用 translationY 的话点击也落在画出来的位置上。
+        for (int i = 0, count = getChildCount(); i < count; i++) {
+            View child = getChildAt(i);
+            if (child != mHeaderView) child.setTranslationY(mZoomDistance);
+        }
     }
 
-    //偷懒方法默认每个item高度一致
-    public int getScrollDistance() {
-        int iDistance = 0;
-        LayoutManager layoutManager = getLayoutManager();
-        if (layoutManager instanceof LinearLayoutManager) {
-            LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
-            if (linearLayoutManager.getOrientation() == LinearLayoutManager.VERTICAL) {
-                int position = linearLayoutManager.findFirstVisibleItemPosition();
-                View firstVisiableChildView = linearLayoutManager.findViewByPosition(position);
-                int itemHeight = firstVisiableChildView.getHeight();
-                int itemTop = firstVisiableChildView.getTop();
-                int iposition = position * itemHeight;
-                iDistance = iposition - itemTop;
+    /**
+     * The zoomed background draws past the header, so clipChildren is turned off along the header chain only while
+     * zooming, and restored for the views that were clipping before.
+     */
+    private void setZoomClipChildren(boolean clip) {
+        if (clip) {
+            for (ViewGroup group : mZoomUnclipped) {
+                group.setClipChildren(true);
             }
-            if (linearLayoutManager.getOrientation() == LinearLayoutManager.HORIZONTAL) {
-                int position = linearLayoutManager.findFirstVisibleItemPosition();
-                View firstVisiableChildView = linearLayoutManager.findViewByPosition(position);
-                int itemWidth = firstVisiableChildView.getWidth();
-                int itemRight = firstVisiableChildView.getRight();
-                int iposition = position * itemWidth;
-                iDistance = iposition - itemRight + itemWidth;
+            mZoomUnclipped.clear();
+        } else if (mZoomUnclipped.isEmpty()) {
+            unclip(this);
+            for (ViewParent parent = mZoomViewHeaderBg.getParent(); parent instanceof ViewGroup; parent = parent.getParent()) {
+                unclip((ViewGroup) parent);
+                if (parent == mHeaderView) break;
             }
         }
+    }
 
-        if (layoutManager instanceof GridLayoutManager) {
-            GridLayoutManager gridLayoutManager = (GridLayoutManager) layoutManager;
-            int itemSpanCount = gridLayoutManager.getSpanCount();
-            int position = gridLayoutManager.findFirstVisibleItemPosition();
-            int itemPosition = position / itemSpanCount;
-            View firstVisiableChildView = gridLayoutManager.findViewByPosition(position);
-            int itemHeight = firstVisiableChildView.getHeight();
-            int itemTop = firstVisiableChildView.getTop();
-            int iposition = itemPosition * itemHeight;
-            iDistance = iposition - itemTop;
+    private void unclip(ViewGroup group) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR2 || group.getClipChildren()) {
+            group.setClipChildren(false);
+            mZoomUnclipped.add(group);
+        }
+    }
+
+    /**
+     * Get the absolute scroll distance, the size of every item is measured when it is laid out.
+     */
+    public int getScrollDistance() {
+        return getScrollOffsetTracker().getScrollOffset();
+    }
+
+    /**
+     * Find the adapter position at the scroll distance.
+     */
+    public int findPositionAtScrollDistance(int distance) {
+        return getScrollOffsetTracker().findPositionAt(distance);
+    }
+
+    private ScrollOffsetTracker getScrollOffsetTracker() {
+        if (mScrollOffsetTracker == null) {
+            mScrollOffsetTracker = new ScrollOffsetTracker(this);
+            if (mAdapterWrapper != null) {
+                mAdapterWrapper.registerAdapterDataObserver(mScrollOffsetTracker);
+            }
+            mScrollOffsetTracker.onChanged();
+            mScrollOffsetTracker.record();
         }
+        return mScrollOffsetTracker;
+    }
 
-        return iDistance;
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        super.onLayout(changed, l, t, r, b);
+        if (mScrollOffsetTracker != null) mScrollOffsetTracker.record();
     }
 
     //
@@ -841,21 +1160,49 @@ public class SwipeMenuRecyclerView extends RecyclerView {
     /**********************************************************************************************/
     /**********************************************************************************************/
 
-    private View getSwipeMenuView(View itemView) {
-        if (itemView instanceof SwipeMenuLayout) return itemView;
-        List<View> unvisited = new ArrayList<>();
+    /**
+     * Identify the touched item by its stable id, so the open menu follows the item when the data is changed.
+     */
+    private long getTouchedId(ViewHolder vh) {
+        if (vh == null) return NO_ID;
+        Adapter adapter = getAdapter();
+        if (adapter != null && adapter.hasStableIds()) return vh.getItemId();
+        int position = vh.getAdapterPosition();
+        return position == NO_POSITION ? NO_ID : position;
+    }
+
+    /**
+     * Get the {@link SwipeMenuLayout} of the ViewHolder, it is looked up once and then cached on the itemView.
+     */
+    private static SwipeMenuLayout getSwipeMenuLayout(ViewHolder vh) {
+        if (vh == null) return null;
+        View itemView = vh.itemView;
+        if (itemView instanceof SwipeMenuLayout) return (SwipeMenuLayout) itemView;
+        Object cached = itemView.getTag(R.id.recycler_swipe_menu_layout);
+        if (cached == null) {
+            cached = findSwipeMenuLayout(itemView);
+            if (cached == null) cached = NO_SWIPE_MENU_LAYOUT;
+            itemView.setTag(R.id.recycler_swipe_menu_layout, cached);
+        }
+        return cached instanceof SwipeMenuLayout ? (SwipeMenuLayout) cached : null;
+    }
+
+    private static final Object NO_SWIPE_MENU_LAYOUT = new Object();
+
+    private static SwipeMenuLayout findSwipeMenuLayout(View itemView) {
+        ArrayDeque<View> unvisited = new ArrayDeque<>();
         unvisited.add(itemView);
         while (!unvisited.isEmpty()) {
-            View child = unvisited.remove(0);
+            View child = unvisited.poll();
+            if (child instanceof SwipeMenuLayout) return (SwipeMenuLayout) child;
             if (!(child instanceof ViewGroup)) { // view
                 continue;
             }
-            if (child instanceof SwipeMenuLayout) return child;
             ViewGroup group = (ViewGroup) child;
             final int childCount = group.getChildCount();
             for (int i = 0; i < childCount; i++) unvisited.add(group.getChildAt(i));
         }
-        return itemView;
+        return null;
     }
 
     private int mScrollState = -1;
@@ -870,6 +1217,10 @@ public class SwipeMenuRecyclerView extends RecyclerView {
     private LoadMoreView mLoadMoreView;
     private LoadMoreListener mLoadMoreListener;
 
+    private int mLoadMoreThreshold = 0;
+    private int mLastVisiblePosition = NO_POSITION;
+    private int[] mLastVisiblePositions;
+
     @Override
     public void onScrollStateChanged(int state) {
         this.mScrollState = state;
@@ -877,33 +1228,51 @@ public class SwipeMenuRecyclerView extends RecyclerView {
 
     @Override
     public void onScrolled(int dx, int dy) {
+        if (mScrollOffsetTracker != null) mScrollOffsetTracker.record();
+        if (mScrollState != SCROLL_STATE_DRAGGING && mScrollState != SCROLL_STATE_SETTLING) return;
+
         LayoutManager layoutManager = getLayoutManager();
-        if (layoutManager != null && layoutManager instanceof LinearLayoutManager) {
-            LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
+        if (layoutManager == null) return;
+        int itemCount = layoutManager.getItemCount();
+        if (itemCount <= 0) return;
 
-            int itemCount = layoutManager.getItemCount();
-            if (itemCount <= 0) return;
+        int lastVisiblePosition = findLastVisiblePosition(layoutManager);
+        // 只有滑到新的一行时才需要判断。
+        if (lastVisiblePosition == mLastVisiblePosition) return;
+        mLastVisiblePosition = lastVisiblePosition;
 
-            int lastVisiblePosition = linearLayoutManager.findLastVisibleItemPosition();
+        if (lastVisiblePosition != NO_POSITION && lastVisiblePosition + 1 + mLoadMoreThreshold >= itemCount) {
+            dispatchLoadMore();
+        }
+    }
 
-            if (itemCount == lastVisiblePosition + 1 &&
-                    (mScrollState == SCROLL_STATE_DRAGGING || mScrollState == SCROLL_STATE_SETTLING)) {
-                dispatchLoadMore();
-            }
-        } else if (layoutManager != null && layoutManager instanceof StaggeredGridLayoutManager) {
+    private int findLastVisiblePosition(LayoutManager layoutManager) {
+        if (layoutManager instanceof LinearLayoutManager) {
+            // GridLayoutManager is also a LinearLayoutManager.
+            return ((LinearLayoutManager) layoutManager).findLastVisibleItemPosition();
+        } else if (layoutManager instanceof StaggeredGridLayoutManager) {
             StaggeredGridLayoutManager staggeredGridLayoutManager = (StaggeredGridLayoutManager) layoutManager;
-
-            int itemCount = layoutManager.getItemCount();
-            if (itemCount <= 0) return;
-
-            int[] lastVisiblePositionArray = staggeredGridLayoutManager.findLastCompletelyVisibleItemPositions(null);
-            int lastVisiblePosition = lastVisiblePositionArray[lastVisiblePositionArray.length - 1];
-
-            if (itemCount == lastVisiblePosition + 1 &&
-                    (mScrollState == SCROLL_STATE_DRAGGING || mScrollState == SCROLL_STATE_SETTLING)) {
-                dispatchLoadMore();
+            int spanCount = staggeredGridLayoutManager.getSpanCount();
+            if (mLastVisiblePositions == null || mLastVisiblePositions.length < spanCount) {
+                mLastVisiblePositions = new int[spanCount];
             }
+            staggeredGridLayoutManager.findLastVisibleItemPositions(mLastVisiblePositions);
+            int lastVisiblePosition = NO_POSITION;
+            for (int i = 0; i < spanCount; i++) {
+                lastVisiblePosition = Math.max(lastVisiblePosition, mLastVisiblePositions[i]);
+            }
+            return lastVisiblePosition;
         }
+        return NO_POSITION;
+    }
+
+    /**
+     * Start loading more before the end of the list.
+     *
+     * @param threshold how many items are left after the last visible item, 0 means the last item is visible.
+     */
+    public void setLoadMoreThreshold(int threshold) {
+        this.mLoadMoreThreshold = Math.max(0, threshold);
     }
 
     private void dispatchLoadMore() {
@@ -970,6 +1339,7 @@ public class SwipeMenuRecyclerView extends RecyclerView {
     public final void loadMoreFinish(boolean dataEmpty, boolean hasMore) {
         isLoadMore = false;
         isLoadError = false;
+        mLastVisiblePosition = NO_POSITION;
 
         mDataEmpty = dataEmpty;
         mHasMore = hasMore;
@@ -988,6 +1358,7 @@ public class SwipeMenuRecyclerView extends RecyclerView {
     public void loadMoreError(int errorCode, String errorMessage) {
         isLoadMore = false;
         isLoadError = true;
+        mLastVisiblePosition = NO_POSITION;
 
         if (mLoadMoreView != null) {
             mLoadMoreView.onLoadError(errorCode, errorMessage);
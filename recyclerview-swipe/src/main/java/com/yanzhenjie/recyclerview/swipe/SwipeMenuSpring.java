@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017 Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.recyclerview.swipe;
+
+import androidx.core.view.ViewCompat;
+
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.animation.AnimationUtils;
+
+/**
+ * A critically damped spring that moves the menu of one {@link SwipeMenuLayout} at a time.
+ * <p>
+ * One instance is shared by all the rows of a {@link SwipeMenuRecyclerView}, together with the velocity tracker of
+ * the swipe gesture. Idle rows hold nothing. A new target keeps the current position and velocity, so an open can
+ * be turned into a close mid-flight without a jump. The zoom rebound of the header is driven by the same spring.
+ * </p>
+ */
+class SwipeMenuSpring implements Runnable {
+
+    /**
+     * What the spring moves, {@link SwipeMenuLayout} moves its scrollX, other targets map it to their own position.
+     */
+    interface Target {
+
+        int getScrollX();
+
+        void scrollTo(int x, int y);
+    }
+
+    /**
+     * The spring is about {@code e^-7} away from the target after the given duration.
+     */
+    private static final float SETTLE_FACTOR = 7F;
+    private static final float REST_DISPLACEMENT = 0.5F;
+    private static final float REST_VELOCITY = 20F;
+
+    private static SwipeMenuSpring sDefault;
+
+    /**
+     * The spring of the layouts that are not in a {@link SwipeMenuRecyclerView}.
+     */
+    static SwipeMenuSpring getDefault() {
+        if (sDefault == null) sDefault = new SwipeMenuSpring();
+        return sDefault;
+    }
+
+    private VelocityTracker mVelocityTracker;
+
+    private Target mTarget;
+    private View mHost;
+    private int mTargetX;
+    private float mOmega;
+    private float mPosition;
+    private float mVelocity;
+    private long mLastFrameTime;
+    private boolean mScheduled;
+
+    void addMovement(MotionEvent ev) {
+        if (mVelocityTracker == null) mVelocityTracker = VelocityTracker.obtain();
+        mVelocityTracker.addMovement(ev);
+    }
+
+    void clearMovement() {
+        if (mVelocityTracker != null) mVelocityTracker.clear();
+    }
+
+    /**
+     * Get the velocity of the finger in pixels per second.
+     */
+    float computeVelocityX(int maxVelocity) {
+        if (mVelocityTracker == null) return 0;
+        mVelocityTracker.computeCurrentVelocity(1000, maxVelocity);
+        return mVelocityTracker.getXVelocity();
+    }
+
+    /**
+     * Give the velocity tracker back, it is obtained again by the next gesture.
+     */
+    void release() {
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+        if (mTarget != null) finish(mTarget);
+    }
+
+    boolean isRunning(Target target) {
+        return mTarget != null && mTarget == target;
+    }
+
+    /**
+     * Move the scrollX of the layout to targetX.
+     *
+     * @param velocity the velocity of scrollX in pixels per second, it is added to the current one when the layout
+     *                 is already moving.
+     * @param duration about how long the spring takes to settle.
+     */
+    void animateTo(SwipeMenuLayout layout, int targetX, float velocity, int duration) {
+        animateTo(layout, layout, targetX, velocity, duration);
+    }
+
+    /**
+     * Move the target to targetX, the frames are posted to the host.
+     */
+    void animateTo(View host, Target target, int targetX, float velocity, int duration) {
+        onTarget(target, targetX);
+        if (mTarget != target) {
+            // only one target moves, the previous one goes straight to where it was going.
+            if (mTarget != null) finish(mTarget);
+            mTarget = target;
+            mPosition = target.getScrollX();
+            mVelocity = 0;
+        }
+        if (mHost != host) {
+            if (mScheduled && mHost != null) mHost.removeCallbacks(this);
+            mScheduled = false;
+            mHost = host;
+        }
+        mTargetX = targetX;
+        mVelocity += velocity;
+        mOmega = SETTLE_FACTOR * 1000F / Math.max(duration, 1);
+        mLastFrameTime = AnimationUtils.currentAnimationTimeMillis();
+        if (!mScheduled) {
+            mScheduled = true;
+            ViewCompat.postOnAnimation(host, this);
+        }
+    }
+
+    /**
+     * The target starts to move to targetX, the open or close is decided here even if it is interrupted later.
+     */
+    void onTarget(Target target, int targetX) {
+    }
+
+    /**
+     * The target has reached targetX, it is not called when the target is stopped halfway.
+     */
+    void onRest(Target target) {
+    }
+
+    /**
+     * Stop the target where it is, for example when the finger catches it.
+     */
+    void stop(Target target) {
+        if (mTarget != target) return;
+        mTarget = null;
+        mVelocity = 0;
+        if (mScheduled) {
+            mScheduled = false;
+            mHost.removeCallbacks(this);
+        }
+        mHost = null;
+    }
+
+    /**
+     * Jump the target to targetX.
+     */
+    void finish(Target target) {
+        if (mTarget != target) return;
+        int targetX = mTargetX;
+        stop(target);
+        target.scrollTo(targetX, 0);
+        onRest(target);
+    }
+
+    @Override
+    public void run() {
+        mScheduled = false;
+        Target target = mTarget;
+        if (target == null) return;
+
+        if (Math.round(mPosition) != target.getScrollX()) {
+            // moved by someone else, continue from there.
+            mPosition = target.getScrollX();
+        }
+
+        long now = AnimationUtils.currentAnimationTimeMillis();
+        float t = (now - mLastFrameTime) / 1000F;
+        mLastFrameTime = now;
+
+        // x(t) = (a + b * t) * e^(-w * t), exact for any frame time.
+        float a = mPosition - mTargetX;
+        float b = mVelocity + mOmega * a;
+        float decay = (float) Math.exp(-mOmega * t);
+        float displacement = (a + b * t) * decay;
+        mVelocity = (b - mOmega * (a + b * t)) * decay;
+        mPosition = mTargetX + displacement;
+
+        if (Math.abs(displacement) < REST_DISPLACEMENT && Math.abs(mVelocity) < REST_VELOCITY) {
+            finish(target);
+            return;
+        }
+
+        int x = Math.round(mPosition);
+        target.scrollTo(x, 0);
+        if (target.getScrollX() != x) {
+            // stopped by the edge of the menu.
+            mPosition = target.getScrollX();
+            mVelocity = 0;
+        }
+        mScheduled = true;
+        ViewCompat.postOnAnimation(mHost, this);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017 Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.recyclerview.swipe;
+
+import java.util.Arrays;
+
+/**
+ * The open menus of a {@link SwipeMenuRecyclerView}, keyed by the stable id of the item, or by the adapter
+ * position when the adapter has no stable ids.
+ * <p>
+ * An open addressing map from long to direction, so a bind finds the state of its row without boxing.
+ * A direction of 0 marks a free slot, a closed menu is simply not in the map.
+ * </p>
+ */
+class SwipeMenuStateStore {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] mKeys = new long[MIN_CAPACITY];
+    private byte[] mDirections = new byte[MIN_CAPACITY];
+    private int mSize;
+
+    int size() {
+        return mSize;
+    }
+
+    /**
+     * Get the open direction of the key.
+     *
+     * @return {@link SwipeMenuRecyclerView#LEFT_DIRECTION}, {@link SwipeMenuRecyclerView#RIGHT_DIRECTION}, or 0
+     * if the menu is closed.
+     */
+    int get(long key) {
+        int mask = mKeys.length - 1;
+        for (int i = hash(key) & mask; mDirections[i] != 0; i = (i + 1) & mask) {
+            if (mKeys[i] == key) return mDirections[i];
+        }
+        return 0;
+    }
+
+    void put(long key, int direction) {
+        if (direction == 0) {
+            remove(key);
+            return;
+        }
+        int mask = mKeys.length - 1;
+        int i = hash(key) & mask;
+        for (; mDirections[i] != 0; i = (i + 1) & mask) {
+            if (mKeys[i] == key) {
+                mDirections[i] = (byte) direction;
+                return;
+            }
+        }
+        mKeys[i] = key;
+        mDirections[i] = (byte) direction;
+        if (++mSize * 2 > mKeys.length) resize(mKeys.length * 2);
+    }
+
+    void remove(long key) {
+        int mask = mKeys.length - 1;
+        int i = hash(key) & mask;
+        for (; mDirections[i] != 0; i = (i + 1) & mask) {
+            if (mKeys[i] == key) break;
+        }
+        if (mDirections[i] == 0) return;
+        mDirections[i] = 0;
+        mSize--;
+        // shift the following entries back, so that no lookup stops at the hole.
+        for (int j = (i + 1) & mask; mDirections[j] != 0; j = (j + 1) & mask) {
+            int home = hash(mKeys[j]) & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                mKeys[i] = mKeys[j];
+                mDirections[i] = mDirections[j];
+                mDirections[j] = 0;
+                i = j;
+            }
+        }
+    }
+
+    void clear() {
+        if (mSize == 0) return;
+        Arrays.fill(mDirections, (byte) 0);
+        mSize = 0;
+    }
+
+    /**
+     * Keep the entries keyed by position on their items, after the items at and after start move by delta.
+     * The entries in [start, start - delta) are dropped when delta is negative.
+     */
+    void offsetPositions(int start, int delta) {
+        if (mSize == 0 || delta == 0) return;
+        long[] keys = mKeys;
+        byte[] directions = mDirections;
+        mKeys = new long[keys.length];
+        mDirections = new byte[directions.length];
+        mSize = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (directions[i] == 0) continue;
+            long key = keys[i];
+            if (key >= start) {
+                if (delta < 0 && key < start - delta) continue;
+                key += delta;
+            }
+            put(key, directions[i]);
+        }
+    }
+
+    /**
+     * Keep the entries keyed by position on their items, after an item moves from one position to another.
+     */
+    void movePosition(int fromPosition, int toPosition) {
+        if (mSize == 0 || fromPosition == toPosition) return;
+        long[] keys = mKeys;
+        byte[] directions = mDirections;
+        mKeys = new long[keys.length];
+        mDirections = new byte[directions.length];
+        mSize = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (directions[i] == 0) continue;
+            long key = keys[i];
+            if (key == fromPosition) {
+                key = toPosition;
+            } else if (fromPosition < toPosition && key > fromPosition && key <= toPosition) {
+                key--;
+            } else if (toPosition < fromPosition && key >= toPosition && key < fromPosition) {
+                key++;
+            }
+            put(key, directions[i]);
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] keys = mKeys;
+        byte[] directions = mDirections;
+        mKeys = new long[capacity];
+        mDirections = new byte[capacity];
+        mSize = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (directions[i] != 0) put(keys[i], directions[i]);
+        }
+    }
+
+    private static int hash(long key) {
+        int h = (int) (key ^ (key >>> 32));
+        return h ^ (h >>> 16);
+    }
+}
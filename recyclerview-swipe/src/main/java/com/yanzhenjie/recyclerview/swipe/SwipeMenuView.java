@@ -58,10 +58,19 @@ public class SwipeMenuView extends LinearLayout implements View.OnClickListener
     public void createMenu(SwipeMenu swipeMenu, SwipeSwitch swipeSwitch,
                            SwipeMenuItemClickListener swipeMenuItemClickListener,
                            @SwipeMenuRecyclerView.DirectionMode int direction) {
+        this.mItemClickListener = swipeMenuItemClickListener;
+        createMenu(swipeMenu, swipeSwitch, this, direction);
+    }
+
+    /**
+     * Create the menu with a click listener shared by the whole RecyclerView, the listener finds the item itself,
+     * so {@link #bindViewHolder(RecyclerView.ViewHolder)} is not needed.
+     */
+    void createMenu(SwipeMenu swipeMenu, SwipeSwitch swipeSwitch, View.OnClickListener clickListener,
+                    @SwipeMenuRecyclerView.DirectionMode int direction) {
         removeAllViews();
 
         this.mSwipeSwitch = swipeSwitch;
-        this.mItemClickListener = swipeMenuItemClickListener;
         this.mDirection = direction;
 
         List<SwipeMenuItem> items = swipeMenu.getMenuItems();
@@ -75,8 +84,8 @@ public class SwipeMenuView extends LinearLayout implements View.OnClickListener
             parent.setGravity(Gravity.CENTER);
             parent.setOrientation(VERTICAL);
             parent.setLayoutParams(params);
-            ViewCompat.setBackground(parent, item.getBackground());
-            parent.setOnClickListener(this);
+            ViewCompat.setBackground(parent, item.newBackground());
+            parent.setOnClickListener(clickListener);
             addView(parent);
 
             SwipeMenuBridge menuBridge = new SwipeMenuBridge(mDirection, i, mSwipeSwitch, parent);
@@ -100,9 +109,22 @@ public class SwipeMenuView extends LinearLayout implements View.OnClickListener
         this.mAdapterVIewHolder = adapterVIewHolder;
     }
 
+    /**
+     * Move a pooled menu to another {@link SwipeMenuLayout}.
+     */
+    void bindSwipeSwitch(SwipeSwitch swipeSwitch) {
+        this.mSwipeSwitch = swipeSwitch;
+        for (int i = 0, count = getChildCount(); i < count; i++) {
+            Object tag = getChildAt(i).getTag();
+            if (tag instanceof SwipeMenuBridge) {
+                ((SwipeMenuBridge) tag).mSwipeSwitch = swipeSwitch;
+            }
+        }
+    }
+
     private ImageView createIcon(SwipeMenuItem item) {
         ImageView imageView = new ImageView(getContext());
-        imageView.setImageDrawable(item.getImage());
+        imageView.setImageDrawable(item.newImage());
         return imageView;
     }
 
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017 Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.recyclerview.swipe;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import android.view.LayoutInflater;
+import android.view.ViewGroup;
+
+/**
+ * Create the content ViewHolder on a background thread, see
+ * {@link SwipeMenuRecyclerView#setAsyncPrefetch(java.util.concurrent.Executor, SwipeViewHolderFactory)}.
+ */
+public interface SwipeViewHolderFactory {
+
+    /**
+     * Called on the prefetch thread, only inflate views here, do not touch the views on the screen.
+     *
+     * @param inflater a LayoutInflater only used by this thread.
+     * @param parent   the RecyclerView, only for the LayoutParams.
+     * @param viewType the view type of the new ViewHolder.
+     * @return the same ViewHolder as {@link RecyclerView.Adapter#onCreateViewHolder(ViewGroup, int)}.
+     */
+    RecyclerView.ViewHolder onCreateViewHolder(LayoutInflater inflater, ViewGroup parent, int viewType);
+
+}
@@ -45,7 +45,7 @@ public class ConditionItemDecorator extends RecyclerView.ItemDecoration {
         for (int i = 0; i < parent.getChildCount(); i++) {
             View child = parent.getChildAt(i);
             int index = parent.getChildAdapterPosition(child);
-            if (condition.isForDrawOver(index)) {
+            if (index != RecyclerView.NO_POSITION && condition.isForDrawOver(index)) {
                 decor.onDrawOver(c, parent, child, index, state);
             }
         }
@@ -54,7 +54,8 @@ public class ConditionItemDecorator extends RecyclerView.ItemDecoration {
 
     public interface Condition {
         /**
-         * Determines for which item should apply decoration
+         * Determines for which item should apply decoration.
+         * It is called for every visible child on every frame, wrap an expensive condition in {@link SectionIndex}.
          *
          * @param position RecyclerView's adapter position
          * @return true if for position should apply decoration, false otherwise
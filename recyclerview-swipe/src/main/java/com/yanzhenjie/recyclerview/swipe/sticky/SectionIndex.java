@@ -0,0 +1,182 @@
+package com.yanzhenjie.recyclerview.swipe.sticky;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.Arrays;
+
+/**
+ * Sorted positions of the section starts of an adapter.
+ * The wrapped {@link ConditionItemDecorator.Condition} is evaluated once for every position when the data set
+ * changes, range events only evaluate the positions they touch. Lookups on the draw path are binary searches.
+ * <p>
+ * Use it as the condition of {@link ConditionItemDecorator} when the condition is expensive, for example when it
+ * compares the dates of two items.
+ */
+public class SectionIndex implements ConditionItemDecorator.Condition {
+
+    private final RecyclerView.Adapter adapter;
+    private final ConditionItemDecorator.Condition condition;
+    private final RecyclerView.AdapterDataObserver observer = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            invalid = true;
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            if (invalid) return;
+            // the item after the range may start or end a section too.
+            removeRange(positionStart, positionStart + itemCount + 1);
+            evaluateRange(positionStart, positionStart + itemCount + 1);
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+            onItemRangeChanged(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            if (invalid) return;
+            offset(positionStart, itemCount);
+            removeRange(positionStart + itemCount, positionStart + itemCount + 1);
+            evaluateRange(positionStart, positionStart + itemCount + 1);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            if (invalid) return;
+            removeRange(positionStart, positionStart + itemCount + 1);
+            offset(positionStart + itemCount, -itemCount);
+            evaluateRange(positionStart, positionStart + 1);
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            if (invalid) return;
+            // only the items between the two positions move, and the item after them gets a new neighbour.
+            int from = Math.min(fromPosition, toPosition);
+            int to = Math.max(fromPosition, toPosition) + itemCount + 1;
+            removeRange(from, to);
+            evaluateRange(from, to);
+        }
+    };
+
+    private int[] starts = new int[16];
+    private int size;
+    private boolean invalid = true;
+
+    public SectionIndex(@NonNull RecyclerView parent, @NonNull ConditionItemDecorator.Condition condition) {
+        RecyclerView.Adapter adapter = parent.getAdapter();
+        if (adapter == null) {
+            throw new IllegalArgumentException("Firstly set adapter");
+        }
+        this.adapter = adapter;
+        this.condition = condition;
+        adapter.registerAdapterDataObserver(observer);
+    }
+
+    /**
+     * Stop following the adapter.
+     */
+    public void release() {
+        adapter.unregisterAdapterDataObserver(observer);
+    }
+
+    @Override
+    public boolean isForDrawOver(int position) {
+        ensureIndex();
+        return position >= 0 && Arrays.binarySearch(starts, 0, size, position) >= 0;
+    }
+
+    /**
+     * Get the start of the section which contains the position.
+     *
+     * @return the greatest section start not after the position, or {@link RecyclerView#NO_POSITION}.
+     */
+    public int getSectionStart(int position) {
+        ensureIndex();
+        int index = Arrays.binarySearch(starts, 0, size, position);
+        if (index < 0) index = -index - 2;
+        return index < 0 ? RecyclerView.NO_POSITION : starts[index];
+    }
+
+    /**
+     * Get the first section start at or after the position.
+     *
+     * @return the smallest section start not before the position, or {@link RecyclerView#NO_POSITION}.
+     */
+    public int getNextSectionStart(int position) {
+        ensureIndex();
+        int index = Arrays.binarySearch(starts, 0, size, position);
+        if (index < 0) index = -index - 1;
+        return index >= size ? RecyclerView.NO_POSITION : starts[index];
+    }
+
+    public int getSectionCount() {
+        ensureIndex();
+        return size;
+    }
+
+    private void ensureIndex() {
+        if (!invalid) return;
+        invalid = false;
+        size = 0;
+        evaluateRange(0, adapter.getItemCount());
+    }
+
+    /**
+     * Evaluate the condition for the positions in [from, to), they must not be in the index.
+     */
+    private void evaluateRange(int from, int to) {
+        to = Math.min(to, adapter.getItemCount());
+        from = Math.max(from, 0);
+        if (from >= to) return;
+        int insertAt = lowerBound(from);
+        int count = 0;
+        int[] found = null;
+        for (int position = from; position < to; position++) {
+            if (condition.isForDrawOver(position)) {
+                if (found == null) found = new int[to - from];
+                found[count++] = position;
+            }
+        }
+        if (count == 0) return;
+        ensureCapacity(size + count);
+        System.arraycopy(starts, insertAt, starts, insertAt + count, size - insertAt);
+        System.arraycopy(found, 0, starts, insertAt, count);
+        size += count;
+    }
+
+    /**
+     * Remove the section starts in [from, to).
+     */
+    private void removeRange(int from, int to) {
+        int start = lowerBound(from);
+        int end = lowerBound(to);
+        if (start == end) return;
+        System.arraycopy(starts, end, starts, start, size - end);
+        size -= end - start;
+    }
+
+    /**
+     * Move the section starts at and after the position by delta.
+     */
+    private void offset(int position, int delta) {
+        for (int i = lowerBound(position); i < size; i++) {
+            starts[i] += delta;
+        }
+    }
+
+    private int lowerBound(int position) {
+        int index = Arrays.binarySearch(starts, 0, size, position);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > starts.length) {
+            starts = Arrays.copyOf(starts, Math.max(capacity, starts.length * 2));
+        }
+    }
+}
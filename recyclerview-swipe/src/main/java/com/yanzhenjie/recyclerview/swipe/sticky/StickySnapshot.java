@@ -0,0 +1,98 @@
+package com.yanzhenjie.recyclerview.swipe.sticky;
+
+import android.graphics.Canvas;
+import android.graphics.Picture;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderNode;
+import android.os.Build;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+/**
+ * Caches the drawing of a sticky view, so that a frame only replays it.
+ * A {@link RenderNode} is used on Android Q and above, a {@link Picture} on Android M and above,
+ * older versions draw the view every time.
+ * <p>
+ * Call {@link #invalidate()} when the content of the view changes, a new size is detected by itself.
+ */
+public class StickySnapshot {
+
+    private static final int MODE_NONE = 0;
+    private static final int MODE_RENDER_NODE = 1;
+    private static final int MODE_PICTURE = 2;
+
+    // a RenderNode, the class does not exist before Android Q.
+    private Object renderNode;
+    private Picture picture;
+    private int mode = MODE_NONE;
+    private int width;
+    private int height;
+
+    /**
+     * The view will be recorded again the next time it is drawn.
+     */
+    public void invalidate() {
+        mode = MODE_NONE;
+    }
+
+    /**
+     * Draw the view at the origin of the canvas.
+     */
+    public void draw(@NonNull Canvas canvas, @NonNull View view) {
+        int width = view.getWidth();
+        int height = view.getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if (this.width != width || this.height != height
+                || (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP && view.isDirty())) {
+            invalidate();
+        }
+
+        boolean hardware = canvas.isHardwareAccelerated();
+        if (hardware && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            if (mode != MODE_RENDER_NODE) {
+                renderNode = NodeRecorder.record(renderNode, view, width, height);
+                mode = MODE_RENDER_NODE;
+            }
+            NodeRecorder.draw(canvas, renderNode);
+        } else if (!hardware || Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            if (mode != MODE_PICTURE) {
+                if (picture == null) {
+                    picture = new Picture();
+                }
+                view.draw(picture.beginRecording(width, height));
+                picture.endRecording();
+                mode = MODE_PICTURE;
+            }
+            canvas.drawPicture(picture);
+        } else {
+            view.draw(canvas);
+            return;
+        }
+        this.width = width;
+        this.height = height;
+    }
+
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private static class NodeRecorder {
+
+        static Object record(Object node, View view, int width, int height) {
+            RenderNode renderNode = node == null ? new RenderNode("StickySnapshot") : (RenderNode) node;
+            renderNode.setPosition(0, 0, width, height);
+            RecordingCanvas canvas = renderNode.beginRecording(width, height);
+            try {
+                view.draw(canvas);
+            } finally {
+                renderNode.endRecording();
+            }
+            return renderNode;
+        }
+
+        static void draw(Canvas canvas, Object node) {
+            canvas.drawRenderNode((RenderNode) node);
+        }
+    }
+}
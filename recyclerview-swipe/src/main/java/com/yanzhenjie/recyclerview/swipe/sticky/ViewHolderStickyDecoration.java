@@ -2,7 +2,7 @@ package com.yanzhenjie.recyclerview.swipe.sticky;
 
 import android.graphics.Canvas;
 import android.graphics.Rect;
-import android.util.Pair;
+import android.util.SparseArray;
 import android.view.View;
 import android.view.ViewGroup;
 
@@ -10,12 +10,21 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class ViewHolderStickyDecoration extends RecyclerView.ItemDecoration {
 
     private Rect bounds = new Rect();
-    private Pair<Integer, RecyclerView.ViewHolder> currentHeader;
+    private static final int MAX_POOLED_HEADERS = 2;
+
+    private Header currentHeader;
+    // the header which pushes the current one away, bound before it sticks.
+    private Header nextHeader;
+    private final SparseArray<List<Header>> headerPool = new SparseArray<>();
     private final Condition condition;
     private final boolean reverseLayout;
+    private SectionIndex headerIndex;
 
     public ViewHolderStickyDecoration(@NonNull RecyclerView parent, @NonNull Condition condition) {
         this(parent, condition, false);
@@ -33,23 +42,122 @@ public class ViewHolderStickyDecoration extends RecyclerView.ItemDecoration {
             throw new IllegalArgumentException("Firstly set adapter");
         }
 
+        // the header positions are looked up by binary search instead of walking the section.
+        headerIndex = new SectionIndex(parent, new ConditionItemDecorator.Condition() {
+            @Override
+            public boolean isForDrawOver(int position) {
+                return condition.isHeader(position);
+            }
+        });
+
+        // the holders are kept, only the headers bound to changed items are bound again.
         adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
             @Override
             public void onChanged() {
                 clearHeader();
             }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                changeHeader(currentHeader, positionStart, itemCount);
+                changeHeader(nextHeader, positionStart, itemCount);
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+                onItemRangeChanged(positionStart, itemCount);
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                insertHeader(currentHeader, positionStart, itemCount);
+                insertHeader(nextHeader, positionStart, itemCount);
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                removeHeader(currentHeader, positionStart, itemCount);
+                removeHeader(nextHeader, positionStart, itemCount);
+            }
+
+            @Override
+            public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                moveHeaderPosition(currentHeader, fromPosition, toPosition);
+                moveHeaderPosition(nextHeader, fromPosition, toPosition);
+            }
         });
 
         parent.addOnLayoutChangeListener(new View.OnLayoutChangeListener() {
             @Override
             public void onLayoutChange(View v, int left, int top, int right, int bottom, int oldLeft, int oldTop, int oldRight, int oldBottom) {
-                clearHeader();
+                // the headers are measured with the width only.
+                if (right - left != oldRight - oldLeft) {
+                    RecyclerView recyclerView = (RecyclerView) v;
+                    if (currentHeader != null) {
+                        fixViewSize(recyclerView, currentHeader);
+                    }
+                    if (nextHeader != null) {
+                        fixViewSize(recyclerView, nextHeader);
+                    }
+                }
             }
         });
     }
 
+    private static void changeHeader(@Nullable Header header, int positionStart, int itemCount) {
+        if (header != null && header.position >= positionStart && header.position < positionStart + itemCount) {
+            // bound to old data, bind it again on the next draw.
+            header.position = RecyclerView.NO_POSITION;
+        }
+    }
+
+    private static void insertHeader(@Nullable Header header, int positionStart, int itemCount) {
+        if (header != null && header.position >= positionStart) {
+            header.position += itemCount;
+        }
+    }
+
+    private static void removeHeader(@Nullable Header header, int positionStart, int itemCount) {
+        if (header == null || header.position < positionStart) {
+            return;
+        }
+        if (header.position >= positionStart + itemCount) {
+            header.position -= itemCount;
+        } else {
+            header.position = RecyclerView.NO_POSITION;
+        }
+    }
+
+    private static void moveHeaderPosition(@Nullable Header header, int fromPosition, int toPosition) {
+        if (header == null || header.position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        if (header.position == fromPosition) {
+            header.position = toPosition;
+        } else if (fromPosition < toPosition && header.position > fromPosition && header.position <= toPosition) {
+            header.position--;
+        } else if (toPosition < fromPosition && header.position >= toPosition && header.position < fromPosition) {
+            header.position++;
+        }
+    }
+
+    /**
+     * Draw the sticky header again, for example when an image in it is loaded.
+     */
+    public void invalidateStickyHeader() {
+        if (currentHeader != null) {
+            currentHeader.snapshot.invalidate();
+        }
+        if (nextHeader != null) {
+            nextHeader.snapshot.invalidate();
+        }
+    }
+
     private void clearHeader() {
+        recycleHeader(currentHeader);
+        recycleHeader(nextHeader);
         currentHeader = null;
+        nextHeader = null;
     }
 
     @Override
@@ -75,12 +183,12 @@ public class ViewHolderStickyDecoration extends RecyclerView.ItemDecoration {
             return;
         }
 
-        if (condition.isHeader(parent.getChildAdapterPosition(contactChild))) {
-            moveHeader(c, header, contactChild);
+        if (headerIndex.isForDrawOver(parent.getChildAdapterPosition(contactChild))) {
+            moveHeader(c, currentHeader, contactChild);
             return;
         }
 
-        drawHeader(c, header);
+        drawHeader(c, currentHeader);
     }
 
     @Nullable
@@ -91,7 +199,6 @@ public class ViewHolderStickyDecoration extends RecyclerView.ItemDecoration {
         return parent.getChildAt(0);
     }
 
-    @SuppressWarnings("unchecked")
     @Nullable
     private View getHeaderViewForItem(int position, RecyclerView parent) {
         RecyclerView.Adapter adapter = parent.getAdapter();
@@ -99,61 +206,100 @@ public class ViewHolderStickyDecoration extends RecyclerView.ItemDecoration {
             return null;
         }
         int headerPosition = reverseLayout ?
-                getHeaderPositionForItemRevense(adapter.getItemCount(), position) :
-                getHeaderPositionForItem(position);
+                headerIndex.getNextSectionStart(position) :
+                headerIndex.getSectionStart(position);
 
         if (headerPosition == RecyclerView.NO_POSITION) {
             return null;
         }
 
         int viewType = adapter.getItemViewType(headerPosition);
-        if (currentHeader != null && headerPosition == currentHeader.first && currentHeader.second.getItemViewType() == viewType) {
-            return currentHeader.second.itemView;
+        if (!isHeaderFor(currentHeader, headerPosition, viewType)) {
+            recycleHeader(currentHeader);
+            if (isHeaderFor(nextHeader, headerPosition, viewType)) {
+                currentHeader = nextHeader;
+                nextHeader = null;
+            } else {
+                currentHeader = obtainHeader(adapter, parent, headerPosition, viewType);
+            }
         }
 
-        RecyclerView.ViewHolder holder = adapter.createViewHolder(parent, viewType);
-        adapter.onBindViewHolder(holder, headerPosition);
-        fixViewSize(parent, holder.itemView);
-        currentHeader = new Pair<>(headerPosition, holder);
-        return holder.itemView;
-    }
-
-    private int getHeaderPositionForItem(int position) {
-        int headerPosition = RecyclerView.NO_POSITION;
-        int currentPosition = position;
-        do {
-            if (condition.isHeader(currentPosition)) {
-                headerPosition = currentPosition;
-                break;
+        int nextPosition = reverseLayout ?
+                headerIndex.getSectionStart(headerPosition - 1) :
+                headerIndex.getNextSectionStart(headerPosition + 1);
+        if (nextPosition == RecyclerView.NO_POSITION) {
+            recycleHeader(nextHeader);
+            nextHeader = null;
+        } else {
+            int nextViewType = adapter.getItemViewType(nextPosition);
+            if (!isHeaderFor(nextHeader, nextPosition, nextViewType)) {
+                recycleHeader(nextHeader);
+                nextHeader = obtainHeader(adapter, parent, nextPosition, nextViewType);
             }
-            currentPosition -= 1;
-        } while (currentPosition >= 0);
+        }
+        return currentHeader.holder.itemView;
+    }
 
-        return headerPosition;
+    private static boolean isHeaderFor(@Nullable Header header, int position, int viewType) {
+        return header != null && header.position == position && header.holder.getItemViewType() == viewType;
     }
 
-    private int getHeaderPositionForItemRevense(int totalCount, int position) {
-        int headerPosition = RecyclerView.NO_POSITION;
-        int currentPosition = position;
-        do {
-            if (condition.isHeader(currentPosition)) {
-                headerPosition = currentPosition;
-                break;
-            }
-            currentPosition += 1;
-        } while (currentPosition < totalCount);
+    /**
+     * Rebind a pooled header of the view type, a new one is only created when the pool is empty.
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    private Header obtainHeader(RecyclerView.Adapter adapter, RecyclerView parent, int position, int viewType) {
+        List<Header> pool = headerPool.get(viewType);
+        Header header = pool == null || pool.isEmpty() ? null : pool.remove(pool.size() - 1);
+        if (header == null) {
+            header = new Header(adapter.createViewHolder(parent, viewType));
+        }
+        adapter.onBindViewHolder(header.holder, position);
+        header.position = position;
+        header.snapshot.invalidate();
+        fixViewSize(parent, header);
+        return header;
+    }
 
-        return headerPosition;
+    private void recycleHeader(@Nullable Header header) {
+        if (header == null) {
+            return;
+        }
+        header.position = RecyclerView.NO_POSITION;
+        int viewType = header.holder.getItemViewType();
+        List<Header> pool = headerPool.get(viewType);
+        if (pool == null) {
+            pool = new ArrayList<>(MAX_POOLED_HEADERS);
+            headerPool.put(viewType, pool);
+        }
+        if (pool.size() < MAX_POOLED_HEADERS) {
+            pool.add(header);
+        }
     }
 
-    private void fixViewSize(ViewGroup parent, View view) {
+    private void fixViewSize(ViewGroup parent, Header header) {
+        View view = header.holder.itemView;
+        ViewGroup.LayoutParams lp = view.getLayoutParams();
+        // the same size as last time, unless the new data asked for a layout.
+        if (header.parentWidth == parent.getWidth()
+                && header.layoutWidth == lp.width
+                && header.layoutHeight == lp.height
+                && !view.isLayoutRequested()) {
+            return;
+        }
+        header.parentWidth = parent.getWidth();
+        header.layoutWidth = lp.width;
+        header.layoutHeight = lp.height;
+        header.snapshot.invalidate();
+
         // Specs for parent (RecyclerView)
         int widthSpec = View.MeasureSpec.makeMeasureSpec(parent.getWidth(), View.MeasureSpec.EXACTLY);
         int heightSpec = View.MeasureSpec.makeMeasureSpec(parent.getHeight(), View.MeasureSpec.UNSPECIFIED);
 
         // Specs for children (headers)
-        int childWidthSpec = ViewGroup.getChildMeasureSpec(widthSpec, parent.getPaddingLeft() + parent.getPaddingRight(), view.getLayoutParams().width);
-        int childHeightSpec = ViewGroup.getChildMeasureSpec(heightSpec, parent.getPaddingTop() + parent.getPaddingBottom(), view.getLayoutParams().height);
+        int childWidthSpec = ViewGroup.getChildMeasureSpec(widthSpec, parent.getPaddingLeft() + parent.getPaddingRight(), lp.width);
+        int childHeightSpec = ViewGroup.getChildMeasureSpec(heightSpec, parent.getPaddingTop() + parent.getPaddingBottom(), lp.height);
 
         view.measure(childWidthSpec, childHeightSpec);
         view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
@@ -172,21 +318,36 @@ public class ViewHolderStickyDecoration extends RecyclerView.ItemDecoration {
         return null;
     }
 
-    private void moveHeader(Canvas c, View header, View nextHeader) {
+    private void moveHeader(Canvas c, Header header, View nextHeader) {
+        View view = header.holder.itemView;
         c.save();
-        c.translate(0, (nextHeader.getTop() - header.getHeight()));
-        header.draw(c);
+        c.translate(0, (nextHeader.getTop() - view.getHeight()));
+        header.snapshot.draw(c, view);
         c.restore();
     }
 
-    private void drawHeader(Canvas c, View header) {
-        c.save();
-        c.translate(0, 0);
-        header.draw(c);
-        c.restore();
+    private void drawHeader(Canvas c, Header header) {
+        header.snapshot.draw(c, header.holder.itemView);
     }
 
     public interface Condition {
         boolean isHeader(int position);
     }
+
+    /**
+     * A sticky header holder and the size it was last measured for.
+     */
+    private static class Header {
+        final RecyclerView.ViewHolder holder;
+        // the header is drawn every frame, but only recorded when it is bound or resized.
+        final StickySnapshot snapshot = new StickySnapshot();
+        int position = RecyclerView.NO_POSITION;
+        int parentWidth = -1;
+        int layoutWidth;
+        int layoutHeight;
+
+        Header(RecyclerView.ViewHolder holder) {
+            this.holder = holder;
+        }
+    }
 }
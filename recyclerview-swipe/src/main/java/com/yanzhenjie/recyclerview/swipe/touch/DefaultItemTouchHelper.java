@@ -114,6 +114,33 @@ public class DefaultItemTouchHelper extends CompatItemTouchHelper {
         return this.mDefaultItemTouchHelperCallback.isItemViewSwipeEnabled();
     }
 
+    /**
+     * Set the GestureArbiter shared with the RecyclerView.
+     *
+     * @param gestureArbiter {@link GestureArbiter}.
+     */
+    public void setGestureArbiter(GestureArbiter gestureArbiter) {
+        this.mDefaultItemTouchHelperCallback.setGestureArbiter(gestureArbiter);
+    }
+
+    /**
+     * Set ItemReorderSession, the dragged item is moved in the data only once when it is dropped.
+     *
+     * @param itemReorderSession {@link ItemReorderSession}, null to move the data every step.
+     */
+    public void setItemReorderSession(ItemReorderSession itemReorderSession) {
+        this.mDefaultItemTouchHelperCallback.setItemReorderSession(itemReorderSession);
+    }
+
+    /**
+     * Set ItemDismissSession, the swiped items are removed together.
+     *
+     * @param itemDismissSession {@link ItemDismissSession}, null to remove every item when it is swiped.
+     */
+    public void setItemDismissSession(ItemDismissSession itemDismissSession) {
+        this.mDefaultItemTouchHelperCallback.setItemDismissSession(itemDismissSession);
+    }
+
     /**
      * Set OnItemStateChangedListener.
      *
@@ -36,6 +36,12 @@ public class DefaultItemTouchHelperCallback extends ItemTouchHelper.Callback {
 
     private boolean isLongPressDragEnabled;
 
+    private GestureArbiter mGestureArbiter;
+
+    private ItemReorderSession mItemReorderSession;
+
+    private ItemDismissSession mItemDismissSession;
+
     public DefaultItemTouchHelperCallback() {
     }
 
@@ -81,8 +87,25 @@ public class DefaultItemTouchHelperCallback extends ItemTouchHelper.Callback {
         return onItemStateChangedListener;
     }
 
+    public void setGestureArbiter(GestureArbiter gestureArbiter) {
+        this.mGestureArbiter = gestureArbiter;
+    }
+
+    public void setItemReorderSession(ItemReorderSession itemReorderSession) {
+        this.mItemReorderSession = itemReorderSession;
+    }
+
+    public void setItemDismissSession(ItemDismissSession itemDismissSession) {
+        this.mItemDismissSession = itemDismissSession;
+    }
+
     @Override
     public int getMovementFlags(RecyclerView recyclerView, RecyclerView.ViewHolder targetViewHolder) {
+        if (mGestureArbiter != null) {
+            int owner = mGestureArbiter.getOwner();
+            // 本次手势已被侧滑菜单或列表滚动占有，不能再拖拽或侧滑删除。
+            if (owner != GestureArbiter.OWNER_NONE && owner != GestureArbiter.OWNER_ITEM_TOUCH) return 0;
+        }
         if (onItemMovementListener != null) {
             int dragFlags = onItemMovementListener.onDragFlags(recyclerView, targetViewHolder);
             int swipeFlags = onItemMovementListener.onSwipeFlags(recyclerView, targetViewHolder);
@@ -140,6 +163,9 @@ public class DefaultItemTouchHelperCallback extends ItemTouchHelper.Callback {
 
     @Override
     public boolean onMove(RecyclerView arg0, RecyclerView.ViewHolder srcHolder, RecyclerView.ViewHolder targetHolder) {
+        if (mItemReorderSession != null)
+            // 拖拽过程中只移动界面，松手后再一次性移动数据。
+            return mItemReorderSession.onReorderMove(srcHolder.getAdapterPosition(), targetHolder.getAdapterPosition());
         if (onItemMoveListener != null)
             // 回调刷新数据及界面。
             return onItemMoveListener.onItemMove(srcHolder, targetHolder);
@@ -148,6 +174,11 @@ public class DefaultItemTouchHelperCallback extends ItemTouchHelper.Callback {
 
     @Override
     public void onSwiped(RecyclerView.ViewHolder viewHolder, int direction) {
+        if (mItemDismissSession != null) {
+            // 合并短时间内侧滑的条目，一起删除。
+            mItemDismissSession.onItemDismiss(viewHolder);
+            return;
+        }
         // 回调刷新数据及界面。
         if (onItemMoveListener != null)
             onItemMoveListener.onItemDismiss(viewHolder);
@@ -156,6 +187,10 @@ public class DefaultItemTouchHelperCallback extends ItemTouchHelper.Callback {
     @Override
     public void onSelectedChanged(RecyclerView.ViewHolder viewHolder, int actionState) {
         super.onSelectedChanged(viewHolder, actionState);
+        if (mGestureArbiter != null && actionState != OnItemStateChangedListener.ACTION_STATE_IDLE) {
+            // 拖拽或侧滑删除开始后，本次手势归 ItemTouchHelper 所有；getMovementFlags() 已保证此时没有其它占有者。
+            mGestureArbiter.claim(GestureArbiter.OWNER_ITEM_TOUCH, true);
+        }
         if (onItemStateChangedListener != null && actionState != OnItemStateChangedListener.ACTION_STATE_IDLE) {
             onItemStateChangedListener.onSelectedChanged(viewHolder, actionState);
         }
@@ -164,6 +199,9 @@ public class DefaultItemTouchHelperCallback extends ItemTouchHelper.Callback {
     @Override
     public void clearView(RecyclerView recyclerView, RecyclerView.ViewHolder viewHolder) {
         super.clearView(recyclerView, viewHolder);
+        if (mItemReorderSession != null) {
+            mItemReorderSession.onReorderDrop();
+        }
         if (onItemStateChangedListener != null) {
             onItemStateChangedListener.onSelectedChanged(viewHolder, OnItemStateChangedListener.ACTION_STATE_IDLE);
         }
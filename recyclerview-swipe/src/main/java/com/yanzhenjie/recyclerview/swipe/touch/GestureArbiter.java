@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017 Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.recyclerview.swipe.touch;
+
+import android.view.View;
+import android.view.ViewParent;
+
+/**
+ * Decide the direction and the owner of a gesture once, the following events go to the owner directly.
+ * <p>
+ * The swipe menu, the {@link DefaultItemTouchHelper} and the list scrolling of one RecyclerView share an arbiter,
+ * the first one who claims the gesture wins. The parent (e.g. a pull-to-refresh layout) is told only once by
+ * {@link ViewParent#requestDisallowInterceptTouchEvent(boolean)}.
+ * </p>
+ */
+public class GestureArbiter {
+
+    public static final char DIRECTION_NONE = 'n';
+    public static final char DIRECTION_HORIZONTAL = 'h';
+    public static final char DIRECTION_VERTICAL = 'v';
+
+    /**
+     * Nobody has claimed the gesture yet.
+     */
+    public static final int OWNER_NONE = 0;
+    /**
+     * The swipe menu of the touched item.
+     */
+    public static final int OWNER_SWIPE_MENU = 1;
+    /**
+     * The drag or swipe of {@link DefaultItemTouchHelper}.
+     */
+    public static final int OWNER_ITEM_TOUCH = 2;
+    /**
+     * The scrolling of the list.
+     */
+    public static final int OWNER_SCROLL = 3;
+
+    private final View mHost;
+    private final int mTouchSlop;
+
+    private float mDownX;
+    private float mDownY;
+    private char mDirection = DIRECTION_NONE;
+    private int mOwner = OWNER_NONE;
+
+    /**
+     * @param host      the view whose parent is notified when the gesture is claimed.
+     * @param touchSlop touch slop in pixels.
+     */
+    public GestureArbiter(View host, int touchSlop) {
+        this.mHost = host;
+        this.mTouchSlop = touchSlop;
+    }
+
+    /**
+     * A new gesture starts.
+     */
+    public void onDown(float x, float y) {
+        mDownX = x;
+        mDownY = y;
+        mDirection = DIRECTION_NONE;
+        mOwner = OWNER_NONE;
+    }
+
+    /**
+     * Get the direction of the gesture, the touch slop is only checked until the direction is decided.
+     *
+     * @return {@link #DIRECTION_NONE} while the gesture is still a click.
+     */
+    public char resolveDirection(float x, float y) {
+        if (mDirection == DIRECTION_NONE) {
+            float disX = Math.abs(x - mDownX);
+            float disY = Math.abs(y - mDownY);
+            // The same rule as SmartRefreshLayout: the axis that reaches the slop and dominates, a tie waits.
+            if (disX >= mTouchSlop && disX > disY) {
+                mDirection = DIRECTION_HORIZONTAL;
+            } else if (disY >= mTouchSlop && disY > disX) {
+                mDirection = DIRECTION_VERTICAL;
+            }
+        }
+        return mDirection;
+    }
+
+    /**
+     * Nobody took the decided direction, decide it again on the next move, e.g. a horizontal move on an item without
+     * menu may still turn into a vertical scroll.
+     */
+    public void releaseDirection() {
+        if (mOwner == OWNER_NONE) mDirection = DIRECTION_NONE;
+    }
+
+    /**
+     * Claim the gesture.
+     *
+     * @param owner                   one of {@link #OWNER_SWIPE_MENU}, {@link #OWNER_ITEM_TOUCH}, {@link #OWNER_SCROLL}.
+     * @param disallowParentIntercept the parent of host should not intercept the rest of the gesture.
+     * @return true if the gesture belongs to the owner.
+     */
+    public boolean claim(int owner, boolean disallowParentIntercept) {
+        if (mOwner != OWNER_NONE) return mOwner == owner;
+        mOwner = owner;
+        if (disallowParentIntercept) {
+            ViewParent parent = mHost.getParent();
+            if (parent != null) parent.requestDisallowInterceptTouchEvent(true);
+        }
+        return true;
+    }
+
+    public char getDirection() {
+        return mDirection;
+    }
+
+    public int getOwner() {
+        return mOwner;
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017 Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.recyclerview.swipe.touch;
+
+/**
+ * Track the move of a dragged item as one from-to operation.
+ */
+public interface ItemReorderSession {
+
+    /**
+     * The dragged item passes over the target.
+     *
+     * @param fromPosition the current adapter position of the dragged item.
+     * @param toPosition   the adapter position of the target.
+     * @return true if the item is moved on the screen.
+     */
+    boolean onReorderMove(int fromPosition, int toPosition);
+
+    /**
+     * The dragged item is dropped.
+     */
+    void onReorderDrop();
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017 Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.recyclerview.swipe.touch;
+
+/**
+ * Remove the items swiped out in a short window together, the adapter is notified with ranges so that all of them
+ * are removed in one animation.
+ */
+public interface OnItemDismissBatchListener {
+
+    /**
+     * Remove the items from the data, from the last position to the first. The adapter will be notified, do not
+     * notify it again.
+     *
+     * @param positions the positions in ascending order, excluding the headers.
+     */
+    void onItemsDismiss(int[] positions);
+
+    /**
+     * Put back the items removed by the last {@link #onItemsDismiss(int[])}, from the first position to the last. The
+     * adapter will be notified, do not notify it again.
+     *
+     * @param positions the positions in ascending order, excluding the headers.
+     */
+    void onItemsRestore(int[] positions);
+
+}
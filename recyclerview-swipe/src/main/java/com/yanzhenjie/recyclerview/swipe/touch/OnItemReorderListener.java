@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017 Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.recyclerview.swipe.touch;
+
+/**
+ * Move the dragged item in the data only once when it is dropped.
+ * <p>
+ * While dragging, the items are moved on the screen but the data is not touched, the adapter is bound with the
+ * dragged order.
+ * </p>
+ */
+public interface OnItemReorderListener {
+
+    /**
+     * The dragged item is dropped, move it in the data, such as {@code list.add(toPosition, list.remove(fromPosition))}.
+     * The adapter has already been notified, do not notify it again.
+     *
+     * @param fromPosition the position before dragging, excluding the headers.
+     * @param toPosition   the position after dropping, excluding the headers.
+     */
+    void onItemReorder(int fromPosition, int toPosition);
+
+}
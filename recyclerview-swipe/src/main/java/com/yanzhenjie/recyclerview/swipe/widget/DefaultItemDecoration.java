@@ -27,8 +27,7 @@ import android.view.View;
 
 import com.yanzhenjie.recyclerview.swipe.SwipeMenuRecyclerView;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Created by YanZhenjie on 2017/8/14.
@@ -36,9 +35,20 @@ import java.util.List;
 public class DefaultItemDecoration extends RecyclerView.ItemDecoration {
 
     private Drawable mDivider;
+    private DividerRenderer mDividerRenderer;
     private int mDividerWidth;
     private int mDividerHeight;
-    private List<Integer> mViewTypeList = new ArrayList<>();
+    // sorted, so that a view type is found without boxing.
+    private int[] mExcludeViewTypes;
+
+    private int mGeometryItemCount = -1;
+    private int mGeometrySpanCount = -1;
+    private int mLastRawStart;
+
+    // the children of the frame being drawn, shared by drawHorizontal and drawVertical.
+    private boolean mDrawing;
+    private int mSnapshotCount;
+    private View[] mSnapshotViews = new View[0];
 
     /**
      * @param color decoration line color.
@@ -55,11 +65,18 @@ public class DefaultItemDecoration extends RecyclerView.ItemDecoration {
      */
     public DefaultItemDecoration(@ColorInt int color, int dividerWidth, int dividerHeight, int... excludeViewType) {
         mDivider = new ColorDrawable(color);
+        mDividerRenderer = new DividerRenderer(mDivider);
         mDividerWidth = dividerWidth;
         mDividerHeight = dividerHeight;
-        for (int i : excludeViewType) {
-            mViewTypeList.add(i);
-        }
+        mExcludeViewTypes = excludeViewType.clone();
+        Arrays.sort(mExcludeViewTypes);
+    }
+
+    private boolean isExcluded(RecyclerView parent, View view) {
+        if (view instanceof SwipeMenuRecyclerView.LoadMoreView) return true;
+        // the ViewHolder knows its type, no need to ask the adapter.
+        int viewType = parent.getChildViewHolder(view).getItemViewType();
+        return Arrays.binarySearch(mExcludeViewTypes, viewType) >= 0;
     }
 
     @Override
@@ -67,16 +84,19 @@ public class DefaultItemDecoration extends RecyclerView.ItemDecoration {
         int position = parent.getChildAdapterPosition(view);
         if (position < 0) return;
 
-        if (mViewTypeList.contains(parent.getAdapter().getItemViewType(position))) {
+        if (Arrays.binarySearch(mExcludeViewTypes, parent.getChildViewHolder(view).getItemViewType()) >= 0) {
             outRect.set(0, 0, 0, 0);
             return;
         }
 
         int columnCount = getSpanCount(parent);
         int childCount = parent.getAdapter().getItemCount();
+        if (childCount != mGeometryItemCount || columnCount != mGeometrySpanCount) {
+            computeGeometry(columnCount, childCount);
+        }
 
         boolean firstRaw = isFirstRaw(position, columnCount);
-        boolean lastRaw = isLastRaw(position, columnCount, childCount);
+        boolean lastRaw = position >= mLastRawStart;
         boolean firstColumn = isFirstColumn(position, columnCount);
         boolean lastColumn = isLastColumn(position, columnCount);
 
@@ -125,22 +145,14 @@ public class DefaultItemDecoration extends RecyclerView.ItemDecoration {
         return position < columnCount;
     }
 
-    private boolean isLastRaw(int position, int columnCount, int childCount) {
-        if (columnCount == 1)
-            return position + 1 == childCount;
-        else {
-            int lastRawItemCount = childCount % columnCount;
-            int rawCount = (childCount - lastRawItemCount) / columnCount + (lastRawItemCount > 0 ? 1 : 0);
-
-            int rawPositionJudge = (position + 1) % columnCount;
-            if (rawPositionJudge == 0) {
-                int rawPosition = (position + 1) / columnCount;
-                return rawCount == rawPosition;
-            } else {
-                int rawPosition = (position + 1 - rawPositionJudge) / columnCount + 1;
-                return rawCount == rawPosition;
-            }
-        }
+    /**
+     * The rows only change with the item count or the span count, not with every child of a layout pass.
+     */
+    private void computeGeometry(int columnCount, int childCount) {
+        mGeometryItemCount = childCount;
+        mGeometrySpanCount = columnCount;
+        int rawCount = (childCount + columnCount - 1) / columnCount;
+        mLastRawStart = (rawCount - 1) * columnCount;
     }
 
     private boolean isFirstColumn(int position, int columnCount) {
@@ -157,47 +169,56 @@ public class DefaultItemDecoration extends RecyclerView.ItemDecoration {
 
     @Override
     public void onDraw(Canvas c, RecyclerView parent, RecyclerView.State state) {
+        takeSnapshot(parent);
+        mDrawing = true;
         drawHorizontal(c, parent);
         drawVertical(c, parent);
+        mDrawing = false;
     }
 
-    public void drawHorizontal(Canvas c, RecyclerView parent) {
-        c.save();
+    /**
+     * Decide once per frame which children get a divider.
+     */
+    private void takeSnapshot(RecyclerView parent) {
         int childCount = parent.getChildCount();
+        if (mSnapshotViews.length < childCount) mSnapshotViews = new View[childCount];
+        int count = 0;
         for (int i = 0; i < childCount; i++) {
             final View child = parent.getChildAt(i);
-            int childPosition = parent.getChildAdapterPosition(child);
-            if (childPosition < 0) continue;
-            if (mViewTypeList.contains(parent.getAdapter().getItemViewType(childPosition))) continue;
-            if (child instanceof SwipeMenuRecyclerView.LoadMoreView) continue;
+            if (parent.getChildAdapterPosition(child) < 0) continue;
+            if (isExcluded(parent, child)) continue;
+            mSnapshotViews[count++] = child;
+        }
+        for (int i = count; i < mSnapshotCount; i++) {
+            mSnapshotViews[i] = null;
+        }
+        mSnapshotCount = count;
+    }
+
+    public void drawHorizontal(Canvas c, RecyclerView parent) {
+        if (!mDrawing) takeSnapshot(parent);
+        for (int i = 0; i < mSnapshotCount; i++) {
+            final View child = mSnapshotViews[i];
             final int left = child.getLeft();
             final int top = child.getBottom();
             final int right = child.getRight();
             final int bottom = top + mDividerHeight;
-            mDivider.setBounds(left, top, right, bottom);
-            mDivider.draw(c);
+            mDividerRenderer.add(left, top, right, bottom);
         }
-        c.restore();
+        mDividerRenderer.draw(c, mDividerHeight, false);
     }
 
     public void drawVertical(Canvas c, RecyclerView parent) {
-        c.save();
-        final int childCount = parent.getChildCount();
-        for (int i = 0; i < childCount; i++) {
-            final View child = parent.getChildAt(i);
-            int childPosition = parent.getChildAdapterPosition(child);
-            if (childPosition < 0) continue;
-            if (mViewTypeList.contains(parent.getAdapter().getItemViewType(childPosition))) continue;
-            if (child instanceof SwipeMenuRecyclerView.LoadMoreView) continue;
+        if (!mDrawing) takeSnapshot(parent);
+        for (int i = 0; i < mSnapshotCount; i++) {
+            final View child = mSnapshotViews[i];
             final int left = child.getRight();
             final int top = child.getTop();
             final int right = left + mDividerWidth;
             final int bottom = child.getBottom();
-
-            mDivider.setBounds(left, top, right, bottom);
-            mDivider.draw(c);
+            mDividerRenderer.add(left, top, right, bottom);
         }
-        c.restore();
+        mDividerRenderer.draw(c, mDividerWidth, true);
     }
 
 }
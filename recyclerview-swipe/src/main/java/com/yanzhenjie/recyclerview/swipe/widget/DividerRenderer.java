@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017 Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.recyclerview.swipe.widget;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+
+/**
+ * Draw the dividers of a frame in a batch.
+ * <p>
+ * The dividers are collected first, all of the same thickness. A solid color is drawn with a single
+ * {@link Canvas#drawLines(float[], int, int, Paint)}, any other drawable is drawn once per divider.
+ * </p>
+ */
+class DividerRenderer {
+
+    private final Drawable mDivider;
+    private final Paint mPaint;
+
+    // left, top, right, bottom of every divider.
+    private int[] mRects = new int[64];
+    private float[] mLines = new float[64];
+    private int mCount;
+
+    DividerRenderer(Drawable divider) {
+        this.mDivider = divider;
+        if (divider instanceof ColorDrawable) {
+            mPaint = new Paint();
+            mPaint.setStyle(Paint.Style.STROKE);
+            mPaint.setStrokeCap(Paint.Cap.BUTT);
+        } else {
+            mPaint = null;
+        }
+    }
+
+    void add(int left, int top, int right, int bottom) {
+        int index = mCount * 4;
+        if (index + 4 > mRects.length) {
+            int[] rects = new int[mRects.length * 2];
+            System.arraycopy(mRects, 0, rects, 0, index);
+            mRects = rects;
+        }
+        mRects[index] = left;
+        mRects[index + 1] = top;
+        mRects[index + 2] = right;
+        mRects[index + 3] = bottom;
+        mCount++;
+    }
+
+    /**
+     * Draw the collected dividers and start over.
+     *
+     * @param thickness the height of a horizontal divider, or the width of a vertical one.
+     * @param vertical  the dividers are vertical.
+     */
+    void draw(Canvas c, int thickness, boolean vertical) {
+        int count = mCount;
+        mCount = 0;
+        if (count == 0 || thickness <= 0) return;
+
+        if (mPaint == null) {
+            for (int i = 0; i < count * 4; i += 4) {
+                mDivider.setBounds(mRects[i], mRects[i + 1], mRects[i + 2], mRects[i + 3]);
+                mDivider.draw(c);
+            }
+            return;
+        }
+
+        if (mLines.length < count * 4) mLines = new float[mRects.length];
+        // a line through the middle of the divider, as thick as the divider.
+        for (int i = 0; i < count * 4; i += 4) {
+            if (vertical) {
+                float x = (mRects[i] + mRects[i + 2]) / 2F;
+                mLines[i] = x;
+                mLines[i + 1] = mRects[i + 1];
+                mLines[i + 2] = x;
+                mLines[i + 3] = mRects[i + 3];
+            } else {
+                float y = (mRects[i + 1] + mRects[i + 3]) / 2F;
+                mLines[i] = mRects[i];
+                mLines[i + 1] = y;
+                mLines[i + 2] = mRects[i + 2];
+                mLines[i + 3] = y;
+            }
+        }
+        mPaint.setColor(((ColorDrawable) mDivider).getColor());
+        mPaint.setStrokeWidth(thickness);
+        c.drawLines(mLines, 0, count * 4, mPaint);
+    }
+}
@@ -18,6 +18,7 @@ package com.yanzhenjie.recyclerview.swipe.widget;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.drawable.Drawable;
+import android.os.Build;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
@@ -25,6 +26,8 @@ import android.view.ViewGroup;
 
 import androidx.core.widget.NestedScrollView;
 
+import com.yanzhenjie.recyclerview.swipe.sticky.StickySnapshot;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -59,6 +62,7 @@ public class StickyNestedScrollView extends NestedScrollView {
     private static final int DEFAULT_SHADOW_HEIGHT = 10; // dp;
     private ArrayList<View> stickyViews;
     private View currentlyStickingView;
+    private final StickySnapshot stickySnapshot = new StickySnapshot();
     private float stickyViewTopOffset;
     private final Runnable invalidateRunnable = new Runnable() {
         @Override
@@ -226,7 +230,13 @@ public class StickyNestedScrollView extends NestedScrollView {
             }
             canvas.clipRect(0, (clippingToPadding ? -stickyViewTopOffset : 0), getWidth(),
                     currentlyStickingView.getHeight());
-            if (getStringTagForView(currentlyStickingView).contains(FLAG_HASTRANSPARENCY)) {
+            String tag = getStringTagForView(currentlyStickingView);
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O
+                    && !tag.contains(FLAG_NONCONSTANT) && !tag.contains(FLAG_HASTRANSPARENCY)) {
+                // replay the last drawing until the view is invalidated, see onDescendantInvalidated.
+                // transparent views are shown and hidden around every draw, so they are never cached.
+                stickySnapshot.draw(canvas, currentlyStickingView);
+            } else if (tag.contains(FLAG_HASTRANSPARENCY)) {
                 showView(currentlyStickingView);
                 currentlyStickingView.draw(canvas);
                 hideView(currentlyStickingView);
@@ -332,8 +342,21 @@ public class StickyNestedScrollView extends NestedScrollView {
         }
     }
 
+    @Override
+    public void onDescendantInvalidated(View child, View target) {
+        super.onDescendantInvalidated(child, target);
+        if (currentlyStickingView == null) return;
+        for (View view = target; view != null; view = view.getParent() instanceof View ? (View) view.getParent() : null) {
+            if (view == currentlyStickingView) {
+                stickySnapshot.invalidate();
+                return;
+            }
+        }
+    }
+
     private void startStickingView(View viewThatShouldStick) {
         currentlyStickingView = viewThatShouldStick;
+        stickySnapshot.invalidate();
         if (currentlyStickingView != null) {
             if (getStringTagForView(currentlyStickingView).contains(FLAG_HASTRANSPARENCY)) {
                 hideView(currentlyStickingView);
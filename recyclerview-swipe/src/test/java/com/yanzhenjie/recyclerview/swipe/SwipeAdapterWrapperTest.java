@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.recyclerview.swipe;
+
+import android.view.View;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Local unit test of the itemView lookup of {@link SwipeAdapterWrapper}, {@link #lookup()} compares it with the
+ * lookup it replaced for an adapter with 30 view types.
+ * <p>
+ * Holders need a View, which can not be created on the JVM, so only the lookup is measured here;
+ * {@link Field#set(Object, Object)} is the same for both of them.
+ * </p>
+ */
+public class SwipeAdapterWrapperTest {
+
+    private static final Class<?>[] HOLDER_CLASSES = {
+            Holder0.class, Holder1.class, Holder2.class, Holder3.class, Holder4.class,
+            Holder5.class, Holder6.class, Holder7.class, Holder8.class, Holder9.class,
+            Holder10.class, Holder11.class, Holder12.class, Holder13.class, Holder14.class,
+            Holder15.class, Holder16.class, Holder17.class, Holder18.class, Holder19.class,
+            Holder20.class, Holder21.class, Holder22.class, Holder23.class, Holder24.class,
+            Holder25.class, Holder26.class, Holder27.class, Holder28.class, Holder29.class
+    };
+
+    @Test
+    public void itemViewFieldIsResolvedOnce() throws Exception {
+        Field field = SwipeAdapterWrapper.getItemViewField();
+        assertEquals(RecyclerView.ViewHolder.class, field.getDeclaringClass());
+        assertEquals("itemView", field.getName());
+        assertTrue(field.isAccessible());
+        assertTrue(field == SwipeAdapterWrapper.getItemViewField());
+    }
+
+    @Test
+    public void legacyLookupFindsTheSameField() throws Exception {
+        for (Class<?> holderClass : HOLDER_CLASSES) {
+            assertEquals(SwipeAdapterWrapper.getItemViewField(), legacyLookup(holderClass));
+        }
+    }
+
+    /**
+     * Create holders of the 30 view types in turn, each creation looks up the itemView field.
+     */
+    @Test
+    public void lookup() throws Exception {
+        final int creations = 300000;
+
+        // warm up, then measure.
+        legacy(creations);
+        cached(creations);
+        long start = System.nanoTime();
+        legacy(creations);
+        long legacy = System.nanoTime() - start;
+        start = System.nanoTime();
+        cached(creations);
+        long cached = System.nanoTime() - start;
+
+        System.out.println(String.format("itemView lookup, %d view types: legacy %.1f ns/holder, cached %.1f ns/holder",
+                HOLDER_CLASSES.length, (double) legacy / creations, (double) cached / creations));
+        assertTrue(cached < legacy);
+    }
+
+    private static int legacy(int creations) throws Exception {
+        int hash = 0;
+        for (int i = 0; i < creations; i++) {
+            hash += legacyLookup(HOLDER_CLASSES[i % HOLDER_CLASSES.length]).hashCode();
+        }
+        return hash;
+    }
+
+    private static int cached(int creations) throws Exception {
+        int hash = 0;
+        for (int i = 0; i < creations; i++) {
+            hash += SwipeAdapterWrapper.getItemViewField().hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * The lookup of SwipeAdapterWrapper before the field was cached.
+     */
+    private static Field legacyLookup(Class<?> holderClass) throws Exception {
+        Field itemView = getSupperClass(holderClass).getDeclaredField("itemView");
+        if (!itemView.isAccessible()) itemView.setAccessible(true);
+        return itemView;
+    }
+
+    private static Class<?> getSupperClass(Class<?> aClass) {
+        Class<?> supperClass = aClass.getSuperclass();
+        if (supperClass != null && !supperClass.equals(Object.class)) {
+            return getSupperClass(supperClass);
+        }
+        return aClass;
+    }
+
+    // half of the view types share a base holder, like most adapters.
+    private abstract static class BaseHolder extends RecyclerView.ViewHolder {
+        BaseHolder(View itemView) {
+            super(itemView);
+        }
+    }
+
+    // @formatter:off
+    private static class Holder0 extends RecyclerView.ViewHolder { Holder0(View v) { super(v); } }
+    private static class Holder1 extends RecyclerView.ViewHolder { Holder1(View v) { super(v); } }
+    private static class Holder2 extends RecyclerView.ViewHolder { Holder2(View v) { super(v); } }
+    private static class Holder3 extends RecyclerView.ViewHolder { Holder3(View v) { super(v); } }
+    private static class Holder4 extends RecyclerView.ViewHolder { Holder4(View v) { super(v); } }
+    private static class Holder5 extends RecyclerView.ViewHolder { Holder5(View v) { super(v); } }
+    private static class Holder6 extends RecyclerView.ViewHolder { Holder6(View v) { super(v); } }
+    private static class Holder7 extends RecyclerView.ViewHolder { Holder7(View v) { super(v); } }
+    private static class Holder8 extends RecyclerView.ViewHolder { Holder8(View v) { super(v); } }
+    private static class Holder9 extends RecyclerView.ViewHolder { Holder9(View v) { super(v); } }
+    private static class Holder10 extends RecyclerView.ViewHolder { Holder10(View v) { super(v); } }
+    private static class Holder11 extends RecyclerView.ViewHolder { Holder11(View v) { super(v); } }
+    private static class Holder12 extends RecyclerView.ViewHolder { Holder12(View v) { super(v); } }
+    private static class Holder13 extends RecyclerView.ViewHolder { Holder13(View v) { super(v); } }
+    private static class Holder14 extends RecyclerView.ViewHolder { Holder14(View v) { super(v); } }
+    private static class Holder15 extends BaseHolder { Holder15(View v) { super(v); } }
+    private static class Holder16 extends BaseHolder { Holder16(View v) { super(v); } }
+    private static class Holder17 extends BaseHolder { Holder17(View v) { super(v); } }
+    private static class Holder18 extends BaseHolder { Holder18(View v) { super(v); } }
+    private static class Holder19 extends BaseHolder { Holder19(View v) { super(v); } }
+    private static class Holder20 extends BaseHolder { Holder20(View v) { super(v); } }
+    private static class Holder21 extends BaseHolder { Holder21(View v) { super(v); } }
+    private static class Holder22 extends BaseHolder { Holder22(View v) { super(v); } }
+    private static class Holder23 extends BaseHolder { Holder23(View v) { super(v); } }
+    private static class Holder24 extends BaseHolder { Holder24(View v) { super(v); } }
+    private static class Holder25 extends BaseHolder { Holder25(View v) { super(v); } }
+    private static class Holder26 extends BaseHolder { Holder26(View v) { super(v); } }
+    private static class Holder27 extends BaseHolder { Holder27(View v) { super(v); } }
+    private static class Holder28 extends BaseHolder { Holder28(View v) { super(v); } }
+    private static class Holder29 extends BaseHolder { Holder29(View v) { super(v); } }
+    // @formatter:on
+}
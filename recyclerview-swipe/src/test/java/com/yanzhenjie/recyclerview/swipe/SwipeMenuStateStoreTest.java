@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.recyclerview.swipe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Local unit test of {@link SwipeMenuStateStore}.
+ */
+public class SwipeMenuStateStoreTest {
+
+    private static final int LEFT = SwipeMenuRecyclerView.LEFT_DIRECTION;
+    private static final int RIGHT = SwipeMenuRecyclerView.RIGHT_DIRECTION;
+
+    private SwipeMenuStateStore mStore;
+
+    @Before
+    public void setUp() {
+        mStore = new SwipeMenuStateStore();
+    }
+
+    @Test
+    public void putAndGet() {
+        mStore.put(3, LEFT);
+        mStore.put(42L << 32, RIGHT);
+        assertEquals(LEFT, mStore.get(3));
+        assertEquals(RIGHT, mStore.get(42L << 32));
+        assertEquals(0, mStore.get(4));
+        assertEquals(2, mStore.size());
+
+        mStore.put(3, RIGHT);
+        assertEquals(RIGHT, mStore.get(3));
+        assertEquals(2, mStore.size());
+
+        mStore.put(3, 0);
+        assertEquals(0, mStore.get(3));
+        assertEquals(1, mStore.size());
+    }
+
+    @Test
+    public void removeWithWraparound() {
+        // all of them hash to the last slot of the initial table, two of them wrap to the start.
+        mStore.put(7, LEFT);
+        mStore.put(15, RIGHT);
+        mStore.put(23, LEFT);
+
+        mStore.remove(7);
+        assertEquals(0, mStore.get(7));
+        assertEquals(RIGHT, mStore.get(15));
+        assertEquals(LEFT, mStore.get(23));
+        assertEquals(2, mStore.size());
+
+        mStore.remove(15);
+        assertEquals(0, mStore.get(15));
+        assertEquals(LEFT, mStore.get(23));
+        assertEquals(1, mStore.size());
+
+        mStore.remove(99);
+        assertEquals(1, mStore.size());
+    }
+
+    @Test
+    public void resize() {
+        for (int i = 0; i < 100; i++) {
+            mStore.put(i * 8, i % 2 == 0 ? LEFT : RIGHT);
+        }
+        assertEquals(100, mStore.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 0 ? LEFT : RIGHT, mStore.get(i * 8));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            mStore.remove(i * 8);
+        }
+        assertEquals(50, mStore.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 0 ? 0 : RIGHT, mStore.get(i * 8));
+        }
+    }
+
+    @Test
+    public void offsetPositionsOnInsert() {
+        mStore.put(1, LEFT);
+        mStore.put(5, RIGHT);
+        mStore.offsetPositions(3, 2);
+        assertEquals(LEFT, mStore.get(1));
+        assertEquals(0, mStore.get(5));
+        assertEquals(RIGHT, mStore.get(7));
+        assertEquals(2, mStore.size());
+    }
+
+    @Test
+    public void offsetPositionsOnRemove() {
+        mStore.put(1, LEFT);
+        mStore.put(3, RIGHT);
+        mStore.put(4, LEFT);
+        mStore.put(6, RIGHT);
+        // positions 3 and 4 are removed.
+        mStore.offsetPositions(3, -2);
+        assertEquals(LEFT, mStore.get(1));
+        assertEquals(RIGHT, mStore.get(4));
+        assertEquals(0, mStore.get(3));
+        assertEquals(0, mStore.get(6));
+        assertEquals(2, mStore.size());
+    }
+
+    @Test
+    public void movePositionDown() {
+        mStore.put(2, LEFT);
+        mStore.put(3, RIGHT);
+        mStore.put(6, LEFT);
+        mStore.movePosition(2, 5);
+        assertEquals(LEFT, mStore.get(5));
+        assertEquals(RIGHT, mStore.get(2));
+        assertEquals(LEFT, mStore.get(6));
+        assertEquals(0, mStore.get(3));
+        assertEquals(3, mStore.size());
+    }
+
+    @Test
+    public void movePositionUp() {
+        mStore.put(1, RIGHT);
+        mStore.put(2, LEFT);
+        mStore.put(5, RIGHT);
+        mStore.movePosition(5, 1);
+        assertEquals(RIGHT, mStore.get(1));
+        assertEquals(RIGHT, mStore.get(2));
+        assertEquals(LEFT, mStore.get(3));
+        assertEquals(0, mStore.get(5));
+        assertEquals(3, mStore.size());
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2017 Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.recyclerview.swipe.touch;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Local unit test of {@link GestureArbiter}, {@link #replay()} replays synthetic gestures as a benchmark.
+ * <p>
+ * The host is null, so the parent is never notified, the claims here pass false for it.
+ * </p>
+ */
+public class GestureArbiterTest {
+
+    private static final int SLOP = 8;
+
+    private GestureArbiter mArbiter;
+
+    @Before
+    public void setUp() {
+        mArbiter = new GestureArbiter(null, SLOP);
+    }
+
+    @Test
+    public void clickIsUndecided() {
+        mArbiter.onDown(100, 100);
+        assertEquals(GestureArbiter.DIRECTION_NONE, mArbiter.resolveDirection(100 + SLOP - 1, 100 - SLOP + 1));
+    }
+
+    @Test
+    public void slopIsInclusiveOnBothAxes() {
+        mArbiter.onDown(100, 100);
+        assertEquals(GestureArbiter.DIRECTION_HORIZONTAL, mArbiter.resolveDirection(100 + SLOP, 100));
+
+        mArbiter.onDown(100, 100);
+        assertEquals(GestureArbiter.DIRECTION_VERTICAL, mArbiter.resolveDirection(100, 100 - SLOP));
+    }
+
+    @Test
+    public void tieWaitsForDominantAxis() {
+        mArbiter.onDown(0, 0);
+        assertEquals(GestureArbiter.DIRECTION_NONE, mArbiter.resolveDirection(SLOP, SLOP));
+        assertEquals(GestureArbiter.DIRECTION_VERTICAL, mArbiter.resolveDirection(SLOP, SLOP + 1));
+    }
+
+    @Test
+    public void directionIsDecidedOnce() {
+        mArbiter.onDown(0, 0);
+        assertEquals(GestureArbiter.DIRECTION_HORIZONTAL, mArbiter.resolveDirection(SLOP * 2, 0));
+        assertEquals(GestureArbiter.DIRECTION_HORIZONTAL, mArbiter.resolveDirection(SLOP * 2, SLOP * 10));
+    }
+
+    @Test
+    public void releasedDirectionTurnsVertical() {
+        mArbiter.onDown(0, 0);
+        assertEquals(GestureArbiter.DIRECTION_HORIZONTAL, mArbiter.resolveDirection(SLOP * 2, SLOP));
+        mArbiter.releaseDirection();
+        assertEquals(GestureArbiter.DIRECTION_VERTICAL, mArbiter.resolveDirection(SLOP * 2, SLOP * 5));
+    }
+
+    @Test
+    public void claimedDirectionIsKept() {
+        mArbiter.onDown(0, 0);
+        assertEquals(GestureArbiter.DIRECTION_HORIZONTAL, mArbiter.resolveDirection(SLOP * 2, 0));
+        assertTrue(mArbiter.claim(GestureArbiter.OWNER_SWIPE_MENU, false));
+        mArbiter.releaseDirection();
+        assertEquals(GestureArbiter.DIRECTION_HORIZONTAL, mArbiter.resolveDirection(0, SLOP * 5));
+    }
+
+    @Test
+    public void firstClaimWins() {
+        mArbiter.onDown(0, 0);
+        assertEquals(GestureArbiter.OWNER_NONE, mArbiter.getOwner());
+        assertTrue(mArbiter.claim(GestureArbiter.OWNER_SCROLL, false));
+        assertFalse(mArbiter.claim(GestureArbiter.OWNER_ITEM_TOUCH, false));
+        assertTrue(mArbiter.claim(GestureArbiter.OWNER_SCROLL, false));
+        assertEquals(GestureArbiter.OWNER_SCROLL, mArbiter.getOwner());
+
+        mArbiter.onDown(0, 0);
+        assertEquals(GestureArbiter.OWNER_NONE, mArbiter.getOwner());
+        assertTrue(mArbiter.claim(GestureArbiter.OWNER_ITEM_TOUCH, false));
+    }
+
+    /**
+     * Replay vertical, horizontal, diagonal and click gestures with the policy of SwipeMenuRecyclerView: vertical
+     * goes to the scroll, horizontal to the swipe menu when the item has one, otherwise the direction is released.
+     */
+    @Test
+    public void replay() {
+        final int gestures = 20000;
+        final int moves = 32;
+        float[][] paths = new float[gestures][];
+        boolean[] hasMenu = new boolean[gestures];
+        int[] expected = new int[gestures];
+        Random random = new Random(35);
+        for (int i = 0; i < gestures; i++) {
+            int kind = i % 4;
+            hasMenu[i] = random.nextBoolean();
+            float[] path = new float[moves * 2];
+            for (int j = 0; j < moves; j++) {
+                float step = j + 1;
+                float x, y;
+                switch (kind) {
+                    case 0: // vertical
+                        x = random.nextFloat() * 2;
+                        y = step * 3;
+                        break;
+                    case 1: // horizontal
+                        x = -step * 3;
+                        y = random.nextFloat() * 2;
+                        break;
+                    case 2: // starts horizontal, then turns vertical
+                        x = Math.min(step, 10) * 1.5f;
+                        y = step < 10 ? 0 : (step - 9) * 4;
+                        break;
+                    default: // click
+                        x = random.nextFloat() * (SLOP - 1);
+                        y = random.nextFloat() * (SLOP - 1);
+                        break;
+                }
+                path[j * 2] = x;
+                path[j * 2 + 1] = y;
+            }
+            paths[i] = path;
+            switch (kind) {
+                case 0:
+                    expected[i] = GestureArbiter.OWNER_SCROLL;
+                    break;
+                case 1:
+                    expected[i] = hasMenu[i] ? GestureArbiter.OWNER_SWIPE_MENU : GestureArbiter.OWNER_NONE;
+                    break;
+                case 2:
+                    expected[i] = hasMenu[i] ? GestureArbiter.OWNER_SWIPE_MENU : GestureArbiter.OWNER_SCROLL;
+                    break;
+                default:
+                    expected[i] = GestureArbiter.OWNER_NONE;
+                    break;
+            }
+        }
+
+        // warm up, then measure.
+        replay(paths, hasMenu, null);
+        long start = System.nanoTime();
+        replay(paths, hasMenu, expected);
+        long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("GestureArbiter replay: %d gestures, %d events, %.1f ns/event",
+                gestures, gestures * (moves + 1), (double) elapsed / (gestures * (moves + 1))));
+    }
+
+    private void replay(float[][] paths, boolean[] hasMenu, int[] expected) {
+        for (int i = 0; i < paths.length; i++) {
+            float[] path = paths[i];
+            mArbiter.onDown(0, 0);
+            for (int j = 0; j < path.length; j += 2) {
+                if (mArbiter.getOwner() != GestureArbiter.OWNER_NONE) continue;
+                switch (mArbiter.resolveDirection(path[j], path[j + 1])) {
+                    case GestureArbiter.DIRECTION_VERTICAL:
+                        mArbiter.claim(GestureArbiter.OWNER_SCROLL, false);
+                        break;
+                    case GestureArbiter.DIRECTION_HORIZONTAL:
+                        if (hasMenu[i]) mArbiter.claim(GestureArbiter.OWNER_SWIPE_MENU, false);
+                        else mArbiter.releaseDirection();
+                        break;
+                }
+            }
+            if (expected != null) assertEquals("gesture " + i, expected[i], mArbiter.getOwner());
+        }
+    }
+}
@@ -38,12 +38,14 @@ import android.widget.Toast;
 import com.scwang.smartrefresh.layout.api.DefaultRefreshFooterCreator;
 import com.scwang.smartrefresh.layout.api.DefaultRefreshHeaderCreator;
 import com.scwang.smartrefresh.layout.api.DefaultRefreshInitializer;
+import com.scwang.smartrefresh.layout.api.RefreshCanvasInternal;
 import com.scwang.smartrefresh.layout.api.RefreshContent;
 import com.scwang.smartrefresh.layout.api.RefreshFooter;
 import com.scwang.smartrefresh.layout.api.RefreshHeader;
 import com.scwang.smartrefresh.layout.api.RefreshInternal;
 import com.scwang.smartrefresh.layout.api.RefreshKernel;
 import com.scwang.smartrefresh.layout.api.RefreshLayout;
+import com.scwang.smartrefresh.layout.api.RefreshRenderInternal;
 import com.scwang.smartrefresh.layout.api.ScrollBoundaryDecider;
 import com.scwang.smartrefresh.layout.constant.DimensionStatus;
 import com.scwang.smartrefresh.layout.constant.RefreshState;
@@ -130,6 +132,7 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
     protected boolean mEnableScrollContentWhenRefreshed = true;//是否在刷新完成之后滚动内容显示新数据
     protected boolean mEnableLoadMoreWhenContentNotFull = true;//在内容不满一页的时候，是否可以上拉加载更多
     protected boolean mEnableNestedScrolling = true;//是否启用潜逃滚动功能
+    protected boolean mEnableRenderThreadAnimator = true;//是否优先使用 RenderThread 执行 Header Footer 的刷新动画
     protected boolean mDisableContentWhenRefresh = false;//是否开启在刷新时候禁止操作内容视图
     protected boolean mDisableContentWhenLoading = false;//是否开启在刷新时候禁止操作内容视图
     protected boolean mFooterNoMoreData = false;//数据是否全部加载完成，如果完成就不能在触发加载事件
@@ -282,6 +285,7 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
         mFooterTranslationViewId = ta.getResourceId(R.styleable.SmartRefreshLayout_srlFooterTranslationViewId, mFooterTranslationViewId);
         mEnableNestedScrolling = ta.getBoolean(R.styleable.SmartRefreshLayout_srlEnableNestedScrolling, mEnableNestedScrolling);
         mNestedChild.setNestedScrollingEnabled(mEnableNestedScrolling);
+        mEnableRenderThreadAnimator = ta.getBoolean(R.styleable.SmartRefreshLayout_srlEnableRenderThreadAnimator, mEnableRenderThreadAnimator);
 
         mManualLoadMore = mManualLoadMore || ta.hasValue(R.styleable.SmartRefreshLayout_srlEnableLoadMore);
         mManualHeaderTranslationContent = mManualHeaderTranslationContent || ta.hasValue(R.styleable.SmartRefreshLayout_srlEnableHeaderTranslationContent);
@@ -504,6 +508,15 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
         final View thisView = this;
         final boolean needPreview = thisView.isInEditMode() && mEnablePreviewInEditMode;
 
+        if (mRefreshHeader instanceof RefreshCanvasInternal && !mHeaderHeightStatus.notified) {
+            mHeaderHeightStatus = mHeaderHeightStatus.notified();
+            mRefreshHeader.onInitialized(mKernel, mHeaderHeight, (int) (mHeaderMaxDragRate * mHeaderHeight));
+        }
+        if (mRefreshFooter instanceof RefreshCanvasInternal && !mFooterHeightStatus.notified) {
+            mFooterHeightStatus = mFooterHeightStatus.notified();
+            mRefreshFooter.onInitialized(mKernel, mFooterHeight, (int) (mFooterMaxDragRate * mFooterHeight));
+        }
+
         for (int i = 0, len = super.getChildCount(); i < len; i++) {
             View child = super.getChildAt(i);
 
@@ -737,6 +750,13 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
         mAttachedToWindow = false;
         mKernel.moveSpinner(0, true);
         notifyStateChanged(RefreshState.None);
+        //Headless 组件没有自己的视图，收不到 onDetachedFromWindow，由宿主通知结束动画
+        if (mRefreshHeader instanceof RefreshCanvasInternal) {
+            ((RefreshCanvasInternal) mRefreshHeader).onDetachedFromHost();
+        }
+        if (mRefreshFooter instanceof RefreshCanvasInternal) {
+            ((RefreshCanvasInternal) mRefreshFooter).onDetachedFromHost();
+        }
         if (mHandler != null) {
             mHandler.removeCallbacksAndMessages(null);
         }
@@ -760,6 +780,34 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
         mFooterLocked = false;
     }
 
+    /**
+     * 重写 dispatchDraw 来完成 smart 的特定功能
+     * 1.绘制 Headless 样式的 Header 和 Footer （没有子视图，直接绘制在画布上）
+     * @param canvas 绘制发布
+     */
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        super.dispatchDraw(canvas);
+        final View thisView = this;
+        final boolean preview = !thisView.isInEditMode() || mEnablePreviewInEditMode;
+        if (mRefreshHeader instanceof RefreshCanvasInternal && preview && isEnableRefreshOrLoadMore(mEnableRefresh) && mSpinner > 0) {
+            final int top = thisView.getPaddingTop() + mHeaderInsetStart;
+            canvas.save();
+            canvas.translate(0, top);
+            canvas.clipRect(0, 0, thisView.getWidth(), mSpinner);
+            ((RefreshCanvasInternal) mRefreshHeader).onDraw(canvas, thisView.getWidth(), mSpinner);
+            canvas.restore();
+        }
+        if (mRefreshFooter instanceof RefreshCanvasInternal && preview && isEnableRefreshOrLoadMore(mEnableLoadMore) && mSpinner < 0) {
+            final int bottom = thisView.getHeight() - thisView.getPaddingBottom() - mFooterInsetStart;
+            canvas.save();
+            canvas.translate(0, bottom + mSpinner);
+            canvas.clipRect(0, 0, thisView.getWidth(), -mSpinner);
+            ((RefreshCanvasInternal) mRefreshFooter).onDraw(canvas, thisView.getWidth(), -mSpinner);
+            canvas.restore();
+        }
+    }
+
     /**
      * 重写 drawChild 来完成 smart 的特定功能
      * 1.为 Header 和 Footer 绘制背景 （设置了背景才绘制）
@@ -977,6 +1025,8 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
                 float dx = touchX - mTouchX;
                 float dy = touchY - mTouchY;
                 mVelocityTracker.addMovement(e);//速度追踪
+                //方向只判断一次（与 SwipeMenuRecyclerView 的 GestureArbiter 规则相同），
+                //子视图占有手势时会调用 requestDisallowInterceptTouchEvent(true)，之后不再判断
                 if (!mIsBeingDragged && !mEnableDisallowIntercept && mDragDirection != 'h' && mRefreshContent != null) {//没有拖动之前，检测  canRefresh canLoadMore 来开启拖动
                     if (mDragDirection == 'v' || (Math.abs(dy) >= mTouchSlop && Math.abs(dx) < Math.abs(dy))) {//滑动允许最大角度为45度
                         mDragDirection = 'v';
@@ -1231,7 +1281,7 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
                 finishLoadMore(2000);//如果没有任何加载监听器，两秒之后自动关闭
             }
             if (mRefreshFooter != null) {
-                mRefreshFooter.onStartAnimator(this, mFooterHeight, (int) (mFooterMaxDragRate * mFooterHeight));
+                startInternalAnimator(mRefreshFooter, mFooterHeight, (int) (mFooterMaxDragRate * mFooterHeight));
             }
             if (mOnMultiPurposeListener != null && mRefreshFooter instanceof RefreshFooter) {
                 final OnLoadMoreListener listener = mOnMultiPurposeListener;
@@ -1292,7 +1342,7 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
                     finishRefresh(3000);
                 }
                 if (mRefreshHeader != null) {
-                    mRefreshHeader.onStartAnimator(SmartRefreshLayout.this, mHeaderHeight,  (int) (mHeaderMaxDragRate * mHeaderHeight));
+                    startInternalAnimator(mRefreshHeader, mHeaderHeight, (int) (mHeaderMaxDragRate * mHeaderHeight));
                 }
                 if (mOnMultiPurposeListener != null && mRefreshHeader instanceof RefreshHeader) {
                     if (notify) {
@@ -1356,9 +1406,51 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
      * @return enable
      */
     protected boolean isEnableTranslationContent(boolean enable, RefreshInternal internal) {
+        if (internal != null && internal.getSpinnerStyle() == SpinnerStyle.Zoom) {
+            return true;//放大的视图在内容中，内容必须跟随移动
+        }
         return enable || mEnablePureScrollMode || internal == null || internal.getSpinnerStyle() == SpinnerStyle.FixedBehind;
     }
 
+    /**
+     * 判断 Header 或 Footer 是否可以使用 RenderThread 动画
+     * 需要开启 mEnableRenderThreadAnimator、硬件加速，并且组件实现了 {@link RefreshRenderInternal}
+     * @param internal Header 或 Footer
+     * @return 是否可以使用
+     */
+    protected boolean isEnableRenderAnimator(RefreshInternal internal) {
+        final View thisView = this;
+        return mEnableRenderThreadAnimator && internal instanceof RefreshRenderInternal
+                && thisView.isHardwareAccelerated() && ((RefreshRenderInternal) internal).isSupportRenderAnimator();
+    }
+
+    /**
+     * 开始 Header 或 Footer 的刷新中动画，优先使用 RenderThread 动画
+     * @param internal Header 或 Footer
+     * @param height HeaderHeight or FooterHeight
+     * @param maxDragHeight 最大拖动高度
+     */
+    protected void startInternalAnimator(@NonNull RefreshInternal internal, int height, int maxDragHeight) {
+        if (isEnableRenderAnimator(internal)) {
+            ((RefreshRenderInternal) internal).onStartRenderAnimator(this, height, maxDragHeight);
+        } else {
+            internal.onStartAnimator(this, height, maxDragHeight);
+        }
+    }
+
+    /**
+     * 执行 Header 或 Footer 的完成动画，优先使用 RenderThread 动画
+     * @param internal Header 或 Footer
+     * @param success 数据是否成功刷新或加载
+     * @return 完成动画所需时间
+     */
+    protected int finishInternalAnimator(@NonNull RefreshInternal internal, boolean success) {
+        if (isEnableRenderAnimator(internal)) {
+            return ((RefreshRenderInternal) internal).onFinishRenderAnimator(this, success);
+        }
+        return internal.onFinish(this, success);
+    }
+
     /**
      * 是否真正的 可以刷新或者加载（与 越界拖动 纯滚动模式区分开来）
      * 判断时候可以 刷新 或者 加载（直接影响，Header，Footer 是否显示）
@@ -1983,7 +2075,7 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
             mHeaderHeight = height;
             if (mRefreshHeader != null && mAttachedToWindow && mHeaderHeightStatus.notified) {
                 SpinnerStyle style = mRefreshHeader.getSpinnerStyle();
-                if (style != SpinnerStyle.MatchLayout && !style.scale) {
+                if (style != SpinnerStyle.MatchLayout && style != SpinnerStyle.Headless && !style.scale) {
                     /*
                      * 兼容 MotionLayout 2019-6-18
                      * 在 MotionLayout 内部 requestLayout 无效
@@ -2025,7 +2117,7 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
             mFooterHeight = height;
             if (mRefreshFooter != null && mAttachedToWindow && mFooterHeightStatus.notified) {
                 SpinnerStyle style = mRefreshFooter.getSpinnerStyle();
-                if (style != SpinnerStyle.MatchLayout && !style.scale) {
+                if (style != SpinnerStyle.MatchLayout && style != SpinnerStyle.Headless && !style.scale) {
                     /*
                      * 兼容 MotionLayout 2019-6-18
                      * 在 MotionLayout 内部 requestLayout 无效
@@ -2373,6 +2465,18 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
         return this;
     }
 
+    /**
+     * Set whether to run the refreshing and finish animations of header and footer on the RenderThread (default true).
+     * 设置是否优先使用 RenderThread 执行 Header Footer 的刷新中和完成动画（默认true，不支持时自动回退）
+     * @param enabled 是否启用
+     * @return RefreshLayout
+     */
+    @Override
+    public RefreshLayout setEnableRenderThreadAnimator(boolean enabled) {
+        this.mEnableRenderThreadAnimator = enabled;
+        return this;
+    }
+
 //    /**
 //     * Sets whether to enable pure nested scrolling mode
 //     * Smart scrolling supports both [nested scrolling] and [traditional scrolling] modes
@@ -2441,14 +2545,18 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
      */
     @Override
     public RefreshLayout setRefreshHeader(@NonNull RefreshHeader header, int width, int height) {
-        if (mRefreshHeader != null) {
+        if (mRefreshHeader != null && !(mRefreshHeader instanceof RefreshCanvasInternal)) {
             super.removeView(mRefreshHeader.getView());
         }
         this.mRefreshHeader = header;
         this.mHeaderBackgroundColor = 0;
         this.mHeaderNeedTouchEventWhenRefreshing = false;
         this.mHeaderHeightStatus = mHeaderHeightStatus.unNotify();
-        if (mRefreshHeader.getSpinnerStyle().front) {
+        if (header instanceof RefreshCanvasInternal) {
+            ((RefreshCanvasInternal) header).onAttachedToHost(this);
+            final View thisView = this;
+            thisView.requestLayout();
+        } else if (mRefreshHeader.getSpinnerStyle().front) {
             final ViewGroup thisGroup = this;
             super.addView(mRefreshHeader.getView(), thisGroup.getChildCount(), new LayoutParams(width, height));
         } else {
@@ -2483,7 +2591,7 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
      */
     @Override
     public RefreshLayout setRefreshFooter(@NonNull RefreshFooter footer, int width, int height) {
-        if (mRefreshFooter != null) {
+        if (mRefreshFooter != null && !(mRefreshFooter instanceof RefreshCanvasInternal)) {
             super.removeView(mRefreshFooter.getView());
         }
         this.mRefreshFooter = footer;
@@ -2493,7 +2601,11 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
         this.mFooterNeedTouchEventWhenLoading = false;
         this.mFooterHeightStatus = mFooterHeightStatus.unNotify();
         this.mEnableLoadMore = !mManualLoadMore || mEnableLoadMore;
-        if (mRefreshFooter.getSpinnerStyle().front) {
+        if (footer instanceof RefreshCanvasInternal) {
+            ((RefreshCanvasInternal) footer).onAttachedToHost(this);
+            final View thisView = this;
+            thisView.requestLayout();
+        } else if (mRefreshFooter.getSpinnerStyle().front) {
             final ViewGroup thisGroup = this;
             super.addView(mRefreshFooter.getView(), thisGroup.getChildCount(), new LayoutParams(width, height));
         } else {
@@ -2837,7 +2949,7 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
                         setNoMoreData(true);
                     }
                 } else {
-                    int startDelay = mRefreshHeader.onFinish(SmartRefreshLayout.this, success);
+                    int startDelay = finishInternalAnimator(mRefreshHeader, success);
                     if (mOnMultiPurposeListener != null && mRefreshHeader instanceof RefreshHeader) {
                         mOnMultiPurposeListener.onHeaderFinish((RefreshHeader) mRefreshHeader, success);
                     }
@@ -2960,7 +3072,7 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
                         setNoMoreData(true);
                     }
                 } else {
-                    final int startDelay = mRefreshFooter.onFinish(SmartRefreshLayout.this, success);
+                    final int startDelay = finishInternalAnimator(mRefreshFooter, success);
                     if (mOnMultiPurposeListener != null && mRefreshFooter instanceof RefreshFooter) {
                         mOnMultiPurposeListener.onFooterFinish((RefreshFooter) mRefreshFooter, success);
                     }
@@ -3603,6 +3715,8 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
                             final int left = mlp.leftMargin;
                             final int top = mlp.topMargin + mHeaderInsetStart;
                             headerView.layout(left, top, left + headerView.getMeasuredWidth(), top + headerView.getMeasuredHeight());
+                        } else if (mRefreshHeader.getSpinnerStyle() == SpinnerStyle.Headless) {
+                            thisView.invalidate();
                         }
                         mRefreshHeader.onMoving(isDragging, percent, offset, headerHeight, maxDragHeight);
                     }
@@ -3649,6 +3763,8 @@ public class SmartRefreshLayout extends ViewGroup implements RefreshLayout, Nest
                             final int left = mlp.leftMargin;
                             final int bottom = mlp.topMargin + thisView.getMeasuredHeight() - mFooterInsetStart;
                             footerView.layout(left, bottom - footerView.getMeasuredHeight(), left + footerView.getMeasuredWidth(), bottom);
+                        } else if (mRefreshFooter.getSpinnerStyle() == SpinnerStyle.Headless) {
+                            thisView.invalidate();
                         }
                         mRefreshFooter.onMoving(isDragging, percent, offset, footerHeight, maxDragHeight);
                     }
@@ -0,0 +1,41 @@
+package com.scwang.smartrefresh.layout.api;
+
+import android.graphics.Canvas;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY;
+import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+import static androidx.annotation.RestrictTo.Scope.SUBCLASSES;
+
+/**
+ * 无视图（Headless）刷新组件
+ * 不作为子视图添加到 SmartRefreshLayout，不参与 onMeasure 和 onLayout，
+ * 直接在 SmartRefreshLayout 的 dispatchDraw 中绘制，适合几个圆点之类的简单指示器
+ * getView 返回宿主视图，getSpinnerStyle 返回 {@link com.scwang.smartrefresh.layout.constant.SpinnerStyle#Headless}
+ */
+public interface RefreshCanvasInternal extends RefreshInternal {
+    /**
+     * 【仅限框架内调用】绑定宿主视图，需要重绘时调用宿主的 invalidate
+     * @param host 宿主视图 SmartRefreshLayout 或者包装的 Header Footer 视图
+     */
+    @RestrictTo({LIBRARY,LIBRARY_GROUP,SUBCLASSES})
+    void onAttachedToHost(@NonNull View host);
+
+    /**
+     * 【仅限框架内调用】宿主从窗口移除，需要结束正在执行的动画（动画持有宿主，会导致内存泄露）
+     */
+    @RestrictTo({LIBRARY,LIBRARY_GROUP,SUBCLASSES})
+    void onDetachedFromHost();
+
+    /**
+     * 【仅限框架内调用】绘制组件，画布已经平移到组件区域的左上角，并剪裁到可见区域
+     * @param canvas 画布
+     * @param width 区域宽度
+     * @param height 可见高度 (0 - height - maxDragHeight)
+     */
+    @RestrictTo({LIBRARY,LIBRARY_GROUP,SUBCLASSES})
+    void onDraw(@NonNull Canvas canvas, int width, int height);
+}
@@ -335,6 +335,14 @@ public interface RefreshLayout {
      */
     RefreshLayout setEnableNestedScroll(boolean enabled);
 
+    /**
+     * Set whether to run the refreshing and finish animations of header and footer on the RenderThread (default true).
+     * 设置是否优先使用 RenderThread 执行 Header Footer 的刷新中和完成动画（默认true，不支持时自动回退）
+     * @param enabled 是否启用
+     * @return RefreshLayout
+     */
+    RefreshLayout setEnableRenderThreadAnimator(boolean enabled);
+
 //    /**
 //     * Sets whether to enable pure nested scrolling mode
 //     * Smart scrolling supports both [nested scrolling] and [traditional scrolling] modes
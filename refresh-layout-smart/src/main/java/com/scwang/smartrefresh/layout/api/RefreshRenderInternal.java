@@ -0,0 +1,40 @@
+package com.scwang.smartrefresh.layout.api;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY;
+import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+import static androidx.annotation.RestrictTo.Scope.SUBCLASSES;
+
+/**
+ * 支持 RenderThread 动画的刷新组件
+ * 刷新中和完成时的动画交给 RenderThread 执行（AnimatedVectorDrawable、CircularReveal 等），
+ * 刷新完成后主线程忙于绑定列表数据时，动画也不会卡顿
+ * 不支持的设备或状态下，仍然调用 onStartAnimator 和 onFinish
+ */
+public interface RefreshRenderInternal extends RefreshInternal {
+    /**
+     * 当前是否可以使用 RenderThread 动画（系统版本、自定义的 Drawable 等）
+     * @return false 将回退到 onStartAnimator 和 onFinish
+     */
+    boolean isSupportRenderAnimator();
+
+    /**
+     * 【仅限框架内调用】开始 RenderThread 动画，取代 onStartAnimator
+     * @param refreshLayout RefreshLayout
+     * @param height HeaderHeight or FooterHeight
+     * @param maxDragHeight 最大拖动高度
+     */
+    @RestrictTo({LIBRARY,LIBRARY_GROUP,SUBCLASSES})
+    void onStartRenderAnimator(@NonNull RefreshLayout refreshLayout, int height, int maxDragHeight);
+
+    /**
+     * 【仅限框架内调用】RenderThread 完成动画，取代 onFinish
+     * @param refreshLayout RefreshLayout
+     * @param success 数据是否成功刷新或加载
+     * @return 完成动画所需时间 如果返回 Integer.MAX_VALUE 将取消本次完成事件，继续保持原有状态
+     */
+    @RestrictTo({LIBRARY,LIBRARY_GROUP,SUBCLASSES})
+    int onFinishRenderAnimator(@NonNull RefreshLayout refreshLayout, boolean success);
+}
@@ -0,0 +1,35 @@
+package com.scwang.smartrefresh.layout.api;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 二楼内容创建器（懒加载二楼）
+ * 二楼内容在首次越过预加载阈值时才会创建，之前没有任何开销
+ */
+public interface TwoLevelContentCreator {
+    /**
+     * 【后台线程调用】创建二楼内容，不要在这里访问 Handler 或者修改已显示的视图
+     * 如果在后台线程创建失败，将会在主线程重新调用一次
+     * @param inflater LayoutInflater
+     * @param parent 二楼容器（仅用于生成 LayoutParams，不要直接添加）
+     * @return 二楼内容视图
+     */
+    @NonNull
+    View onCreateTwoLevelContent(@NonNull LayoutInflater inflater, @NonNull ViewGroup parent);
+
+    /**
+     * 【主线程调用】二楼内容已经添加到 TwoLevelHeader，可以在这里绑定数据
+     * @param content 二楼内容视图
+     */
+    void onTwoLevelContentAttached(@NonNull View content);
+
+    /**
+     * 【主线程调用】二楼内容已经被释放（内存紧张时在 finishTwoLevel 之后释放）
+     * @param content 二楼内容视图
+     */
+    void onTwoLevelContentReleased(@NonNull View content);
+}
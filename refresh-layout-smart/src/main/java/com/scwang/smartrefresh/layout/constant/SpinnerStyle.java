@@ -19,13 +19,26 @@ public class SpinnerStyle {
     public static final SpinnerStyle FixedBehind = new SpinnerStyle(2, false, false);
     public static final SpinnerStyle FixedFront = new SpinnerStyle(3, true, false);
     public static final SpinnerStyle MatchLayout = new SpinnerStyle(4, true, false);
+    /**
+     * Headless 没有视图，不参与测量和布局，直接绘制在 SmartRefreshLayout 的画布上
+     * 只能由 {@link com.scwang.smartrefresh.layout.api.RefreshCanvasInternal} 使用
+     */
+    public static final SpinnerStyle Headless = new SpinnerStyle(5, false, false);
+    /**
+     * Zoom 和 FixedBehind 一样固定在背后，内容始终跟随移动，
+     * 由 Header 在 onMoving 中缩放内容顶部的指定视图（如头图），填满拉开的空间，不会重新测量和布局
+     * 参考 {@link com.scwang.smartrefresh.layout.header.PullZoomHeader}
+     */
+    public static final SpinnerStyle Zoom = new SpinnerStyle(6, false, false);
 
     public static final SpinnerStyle[] values = new SpinnerStyle[]{
             Translate, //平行移动        特点: HeaderView高度不会改变，
             Scale, //拉伸形变            特点：在下拉和上弹（HeaderView高度改变）时候，会自动触发OnDraw事件
             FixedBehind, //固定在背后    特点：HeaderView高度不会改变，
             FixedFront, //固定在前面     特点：HeaderView高度不会改变，
-            MatchLayout//填满布局        特点：HeaderView高度不会改变，尺寸充满 RefreshLayout
+            MatchLayout,//填满布局        特点：HeaderView高度不会改变，尺寸充满 RefreshLayout
+            Headless,//无视图绘制          特点：没有 HeaderView，直接绘制在 RefreshLayout 上
+            Zoom//下拉放大                 特点：HeaderView高度不会改变，缩放内容中的指定视图
     };
 
     public final int ordinal;
@@ -0,0 +1,157 @@
+package com.scwang.smartrefresh.layout.footer;
+
+import android.animation.TimeInterpolator;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.core.graphics.ColorUtils;
+import android.view.animation.AccelerateDecelerateInterpolator;
+
+import com.scwang.smartrefresh.layout.api.RefreshFooter;
+import com.scwang.smartrefresh.layout.api.RefreshLayout;
+import com.scwang.smartrefresh.layout.internal.InternalCanvas;
+import com.scwang.smartrefresh.layout.util.SmartUtil;
+
+/**
+ * 球脉冲底部加载组件（无视图）
+ * 直接绘制在 SmartRefreshLayout 上，也是 {@link BallPulseFooter} 的绘制实现
+ */
+@SuppressWarnings({"unused", "UnusedReturnValue"})
+public class BallPulseCanvasFooter extends InternalCanvas implements RefreshFooter {
+
+    protected boolean mManualNormalColor;
+    protected boolean mManualAnimationColor;
+
+    protected Paint mPaint;
+
+    protected int mNormalColor = 0xffeeeeee;
+    protected int mAnimatingColor = 0xffe75946;
+
+    protected float mCircleSpacing;
+
+    protected long mStartTime = 0;
+    protected boolean mIsStarted = false;
+    protected TimeInterpolator mInterpolator = new AccelerateDecelerateInterpolator();
+
+    public BallPulseCanvasFooter(@NonNull Context context) {
+        super(context);
+
+        mPaint = new Paint();
+        mPaint.setColor(Color.WHITE);
+        mPaint.setStyle(Paint.Style.FILL);
+        mPaint.setAntiAlias(true);
+
+        mCircleSpacing = SmartUtil.dp2px(4);
+        mHeight = SmartUtil.dp2px(60);
+    }
+
+    /**
+     * 绘制三个脉冲小球，小球跟随 Footer 的顶部（与 Translate 一致）
+     * @param canvas 画布
+     * @param width 宽度
+     * @param height 可见高度
+     */
+    @Override
+    public void onDraw(@NonNull Canvas canvas, int width, int height) {
+        final int size = isHeadless() && mHeight > 0 ? mHeight : height;
+        float radius = (Math.min(width, size) - mCircleSpacing * 2) / 6;
+        float x = width / 2f - (radius * 2 + mCircleSpacing);
+        float y = size / 2f;
+
+        final long now = System.currentTimeMillis();
+
+        for (int i = 0; i < 3; i++) {
+
+            long time = now - mStartTime - 120 * (i + 1);
+            float percent = time > 0 ? ((time%750)/750f) : 0;
+            percent = mInterpolator.getInterpolation(percent);
+
+            canvas.save();
+
+            float translateX = x + (radius * 2) * i + mCircleSpacing * i;
+            canvas.translate(translateX, y);
+
+            if (percent < 0.5) {
+                float scale = 1 - percent * 2 * 0.7f;
+                canvas.scale(scale, scale);
+            } else {
+                float scale = percent * 2 * 0.7f - 0.4f;
+                canvas.scale(scale, scale);
+            }
+
+            canvas.drawCircle(0, 0, radius, mPaint);
+            canvas.restore();
+        }
+
+        if (mIsStarted) {
+            invalidate();
+        }
+    }
+
+    @Override
+    public void onDetachedFromHost() {
+        mIsStarted = false;
+        mStartTime = 0;
+        mPaint.setColor(mNormalColor);
+    }
+
+    @Override
+    public void onStartAnimator(@NonNull RefreshLayout layout, int height, int maxDragHeight) {
+        if (mIsStarted) return;
+
+        invalidate();
+        mIsStarted = true;
+        mStartTime = System.currentTimeMillis();
+        mPaint.setColor(mAnimatingColor);
+    }
+
+    @Override
+    public int onFinish(@NonNull RefreshLayout layout, boolean success) {
+        mIsStarted = false;
+        mStartTime = 0;
+        mPaint.setColor(mNormalColor);
+        return 0;
+    }
+
+    @Override
+    public boolean setNoMoreData(boolean noMoreData) {
+        return false;
+    }
+
+    @Override@Deprecated
+    public void setPrimaryColors(@ColorInt int... colors) {
+        if (!mManualAnimationColor && colors.length > 1) {
+            setAnimatingColor(colors[0]);
+            mManualAnimationColor = false;
+        }
+        if (!mManualNormalColor) {
+            if (colors.length > 1) {
+                setNormalColor(colors[1]);
+            } else if (colors.length > 0) {
+                setNormalColor(ColorUtils.compositeColors(0x99ffffff,colors[0]));
+            }
+            mManualNormalColor = false;
+        }
+    }
+
+    public BallPulseCanvasFooter setNormalColor(@ColorInt int color) {
+        mNormalColor = color;
+        mManualNormalColor = true;
+        if (!mIsStarted) {
+            mPaint.setColor(color);
+        }
+        return this;
+    }
+
+    public BallPulseCanvasFooter setAnimatingColor(@ColorInt int color) {
+        mAnimatingColor = color;
+        mManualAnimationColor = true;
+        if (mIsStarted) {
+            mPaint.setColor(color);
+        }
+        return this;
+    }
+}
@@ -4,19 +4,14 @@ import android.animation.TimeInterpolator;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
-import android.graphics.Color;
 import android.graphics.Paint;
 import androidx.annotation.ColorInt;
-import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.core.graphics.ColorUtils;
 import android.util.AttributeSet;
 import android.view.View;
-import android.view.animation.AccelerateDecelerateInterpolator;
 
 import com.scwang.smartrefresh.layout.R;
 import com.scwang.smartrefresh.layout.api.RefreshFooter;
-import com.scwang.smartrefresh.layout.api.RefreshLayout;
 import com.scwang.smartrefresh.layout.constant.SpinnerStyle;
 import com.scwang.smartrefresh.layout.internal.InternalAbstract;
 import com.scwang.smartrefresh.layout.util.SmartUtil;
@@ -24,24 +19,18 @@ import com.scwang.smartrefresh.layout.util.SmartUtil;
 
 /**
  * 球脉冲底部加载组件
+ * 绘制由 {@link BallPulseCanvasFooter} 完成，不需要视图时可以直接使用 BallPulseCanvasFooter
  * Created by scwang on 2017/5/30.
  */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class BallPulseFooter extends InternalAbstract implements RefreshFooter {
 
-    protected boolean mManualNormalColor;
-    protected boolean mManualAnimationColor;
-
+    protected BallPulseCanvasFooter mCanvasFooter;
+    //以下对象与 mCanvasFooter 共用，保留给旧版本的子类
+    @Deprecated
     protected Paint mPaint;
-
-    protected int mNormalColor = 0xffeeeeee;
-    protected int mAnimatingColor = 0xffe75946;
-
-    protected float mCircleSpacing;
-
-    protected long mStartTime = 0;
-    protected boolean mIsStarted = false;
-    protected TimeInterpolator mInterpolator = new AccelerateDecelerateInterpolator();
+    @Deprecated
+    protected TimeInterpolator mInterpolator;
 
     public BallPulseFooter(Context context) {
         this(context, null);
@@ -53,12 +42,13 @@ public class BallPulseFooter extends InternalAbstract implements RefreshFooter {
         final View thisView = this;
         thisView.setMinimumHeight(SmartUtil.dp2px(60));
 
-        TypedArray ta = context.obtainStyledAttributes(attrs, R.styleable.BallPulseFooter);
+        mCanvasFooter = new BallPulseCanvasFooter(context);
+        mCanvasFooter.onAttachedToHost(thisView);
+        mWrappedInternal = mCanvasFooter;
+        mPaint = mCanvasFooter.mPaint;
+        mInterpolator = mCanvasFooter.mInterpolator;
 
-        mPaint = new Paint();
-        mPaint.setColor(Color.WHITE);
-        mPaint.setStyle(Paint.Style.FILL);
-        mPaint.setAntiAlias(true);
+        TypedArray ta = context.obtainStyledAttributes(attrs, R.styleable.BallPulseFooter);
 
         mSpinnerStyle = SpinnerStyle.Translate;
         mSpinnerStyle = SpinnerStyle.values[ta.getInt(R.styleable.BallPulseFooter_srlClassicsSpinnerStyle, mSpinnerStyle.ordinal)];
@@ -70,105 +60,88 @@ public class BallPulseFooter extends InternalAbstract implements RefreshFooter {
             setAnimatingColor(ta.getColor(R.styleable.BallPulseFooter_srlAnimatingColor, 0));
         }
         ta.recycle();
-        mCircleSpacing = SmartUtil.dp2px(4);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        mCanvasFooter.onDetachedFromHost();
     }
 
     @Override
     protected void dispatchDraw(Canvas canvas) {
         final View thisView = this;
-        final int width = thisView.getWidth();
-        final int height = thisView.getHeight();
-        float radius = (Math.min(width, height) - mCircleSpacing * 2) / 6;
-        float x = width / 2f - (radius * 2 + mCircleSpacing);
-        float y = height / 2f;
-
-        final long now = System.currentTimeMillis();
-
-        for (int i = 0; i < 3; i++) {
+        mCanvasFooter.onDraw(canvas, thisView.getWidth(), thisView.getHeight());
+        super.dispatchDraw(canvas);
+    }
 
-            long time = now - mStartTime - 120 * (i + 1);
-            float percent = time > 0 ? ((time%750)/750f) : 0;
-            percent = mInterpolator.getInterpolation(percent);
+    public BallPulseFooter setSpinnerStyle(SpinnerStyle mSpinnerStyle) {
+        this.mSpinnerStyle = mSpinnerStyle;
+        return this;
+    }
 
-            canvas.save();
+    public BallPulseFooter setNormalColor(@ColorInt int color) {
+        mCanvasFooter.setNormalColor(color);
+        return this;
+    }
 
-            float translateX = x + (radius * 2) * i + mCircleSpacing * i;
-            canvas.translate(translateX, y);
+    public BallPulseFooter setAnimatingColor(@ColorInt int color) {
+        mCanvasFooter.setAnimatingColor(color);
+        return this;
+    }
 
-            if (percent < 0.5) {
-                float scale = 1 - percent * 2 * 0.7f;
-                canvas.scale(scale, scale);
-            } else {
-                float scale = percent * 2 * 0.7f - 0.4f;
-                canvas.scale(scale, scale);
-            }
+    //<editor-fold desc="兼容旧版本 - Deprecated">
+    /*
+     * 绘制和动画的状态已经移到 mCanvasFooter，旧版本子类访问的字段改为以下访问方法
+     */
+    @Deprecated
+    protected boolean isManualNormalColor() {
+        return mCanvasFooter.mManualNormalColor;
+    }
 
-            canvas.drawCircle(0, 0, radius, mPaint);
-            canvas.restore();
-        }
+    @Deprecated
+    protected void setManualNormalColor(boolean manualNormalColor) {
+        mCanvasFooter.mManualNormalColor = manualNormalColor;
+    }
 
-        super.dispatchDraw(canvas);
+    @Deprecated
+    protected boolean isManualAnimationColor() {
+        return mCanvasFooter.mManualAnimationColor;
+    }
 
-        if (mIsStarted) {
-            thisView.invalidate();
-        }
+    @Deprecated
+    protected void setManualAnimationColor(boolean manualAnimationColor) {
+        mCanvasFooter.mManualAnimationColor = manualAnimationColor;
     }
 
-    @Override
-    public void onStartAnimator(@NonNull RefreshLayout layout, int height, int maxDragHeight) {
-        if (mIsStarted) return;
+    @Deprecated
+    protected int getNormalColor() {
+        return mCanvasFooter.mNormalColor;
+    }
 
-        final View thisView = this;
-        thisView.invalidate();
-        mIsStarted = true;
-        mStartTime = System.currentTimeMillis();
-        mPaint.setColor(mAnimatingColor);
+    @Deprecated
+    protected int getAnimatingColor() {
+        return mCanvasFooter.mAnimatingColor;
     }
 
-    @Override
-    public int onFinish(@NonNull RefreshLayout layout, boolean success) {
-        mIsStarted = false;
-        mStartTime = 0;
-        mPaint.setColor(mNormalColor);
-        return 0;
-    }
-
-    @Override@Deprecated
-    public void setPrimaryColors(@ColorInt int... colors) {
-        if (!mManualAnimationColor && colors.length > 1) {
-            setAnimatingColor(colors[0]);
-            mManualAnimationColor = false;
-        }
-        if (!mManualNormalColor) {
-            if (colors.length > 1) {
-                setNormalColor(colors[1]);
-            } else if (colors.length > 0) {
-                setNormalColor(ColorUtils.compositeColors(0x99ffffff,colors[0]));
-            }
-            mManualNormalColor = false;
-        }
+    @Deprecated
+    protected float getCircleSpacing() {
+        return mCanvasFooter.mCircleSpacing;
     }
 
-    public BallPulseFooter setSpinnerStyle(SpinnerStyle mSpinnerStyle) {
-        this.mSpinnerStyle = mSpinnerStyle;
-        return this;
+    @Deprecated
+    protected void setCircleSpacing(float circleSpacing) {
+        mCanvasFooter.mCircleSpacing = circleSpacing;
     }
 
-    public BallPulseFooter setNormalColor(@ColorInt int color) {
-        mNormalColor = color;
-        mManualNormalColor = true;
-        if (!mIsStarted) {
-            mPaint.setColor(color);
-        }
-        return this;
+    @Deprecated
+    protected long getStartTime() {
+        return mCanvasFooter.mStartTime;
     }
 
-    public BallPulseFooter setAnimatingColor(@ColorInt int color) {
-        mAnimatingColor = color;
-        mManualAnimationColor = true;
-        if (mIsStarted) {
-            mPaint.setColor(color);
-        }
-        return this;
+    @Deprecated
+    protected boolean isStarted() {
+        return mCanvasFooter.mIsStarted;
     }
+    //</editor-fold>
 }
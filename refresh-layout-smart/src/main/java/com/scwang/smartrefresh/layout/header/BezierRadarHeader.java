@@ -1,7 +1,6 @@
 package com.scwang.smartrefresh.layout.header;
 
 import android.animation.Animator;
-import android.animation.AnimatorSet;
 import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.TypedArray;
@@ -9,18 +8,19 @@ import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.RectF;
+import android.os.Build;
 import androidx.annotation.ColorInt;
 import androidx.annotation.ColorRes;
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
 import android.util.AttributeSet;
 import android.view.View;
-import android.view.animation.AccelerateDecelerateInterpolator;
-import android.view.animation.Interpolator;
+import android.view.ViewAnimationUtils;
 
 import com.scwang.smartrefresh.layout.R;
 import com.scwang.smartrefresh.layout.api.RefreshHeader;
 import com.scwang.smartrefresh.layout.api.RefreshLayout;
+import com.scwang.smartrefresh.layout.api.RefreshRenderInternal;
 import com.scwang.smartrefresh.layout.constant.RefreshState;
 import com.scwang.smartrefresh.layout.constant.SpinnerStyle;
 import com.scwang.smartrefresh.layout.internal.InternalAbstract;
@@ -28,38 +28,22 @@ import com.scwang.smartrefresh.layout.util.SmartUtil;
 
 /**
  * 贝塞尔曲线类雷达风格刷新组件
+ * 绘制由 {@link BezierRadarCanvasHeader} 完成，不需要视图时可以直接使用 BezierRadarCanvasHeader
  * Created by scwang on 2017/5/28.
  */
 @SuppressWarnings({"UnusedReturnValue", "unused"})
-public class BezierRadarHeader extends InternalAbstract implements RefreshHeader {
+public class BezierRadarHeader extends InternalAbstract implements RefreshHeader, RefreshRenderInternal {
 
     //<editor-fold desc="属性字段">
-    protected int mAccentColor;
-    protected int mPrimaryColor;
-    protected boolean mManualPrimaryColor;
-    protected boolean mManualAccentColor;
-    protected boolean mWavePulling;
-    protected boolean mEnableHorizontalDrag = false;
-
+    protected BezierRadarCanvasHeader mCanvasHeader;
+    protected View mRippleView;//RenderThread 扩散动画使用的覆盖视图
+    //以下对象与 mCanvasHeader 共用，保留给旧版本的子类
+    @Deprecated
     protected Path mPath;
+    @Deprecated
     protected Paint mPaint;
-    protected int mWaveTop;
-    protected int mWaveHeight;
-    protected int mWaveOffsetX = -1;
-    protected int mWaveOffsetY = 0;
-
-    protected float mDotAlpha;
-    protected float mDotFraction;
-    protected float mDotRadius;
-    protected float mRippleRadius;
-
-    protected int mRadarAngle = 0;
-    protected float mRadarRadius = 0;
-    protected float mRadarCircle = 0;
-    protected float mRadarScale = 0;
-    protected Animator mAnimatorSet;
-//    protected ValueAnimator mRadarAnimator;
-    protected RectF mRadarRect = new RectF(0,0,0,0);
+    @Deprecated
+    protected RectF mRadarRect;
     //</editor-fold>
 
     //<editor-fold desc="FrameLayout">
@@ -73,33 +57,22 @@ public class BezierRadarHeader extends InternalAbstract implements RefreshHeader
         mSpinnerStyle = SpinnerStyle.FixedBehind;
 
         final View thisView = this;
-
-        mPath = new Path();
-        mPaint = new Paint();
-        mPaint.setAntiAlias(true);
-
-        mDotRadius = SmartUtil.dp2px(7);
-        mRadarRadius = SmartUtil.dp2px(20);
-        mRadarCircle = SmartUtil.dp2px(7);
-        mPaint.setStrokeWidth(SmartUtil.dp2px(3));
-
         thisView.setMinimumHeight(SmartUtil.dp2px(100));
 
-        if (thisView.isInEditMode()) {
-            mWaveTop = 1000;
-            mRadarScale = 1;
-            mRadarAngle = 270;
-        } else {
-            mRadarScale = 0;
-        }
+        mCanvasHeader = new BezierRadarCanvasHeader(context);
+        mCanvasHeader.onAttachedToHost(thisView);
+        mWrappedInternal = mCanvasHeader;
+        mPath = mCanvasHeader.mPath;
+        mPaint = mCanvasHeader.mPaint;
+        mRadarRect = mCanvasHeader.mRadarRect;
 
         TypedArray ta = context.obtainStyledAttributes(attrs, R.styleable.BezierRadarHeader);
 
-        mEnableHorizontalDrag = ta.getBoolean(R.styleable.BezierRadarHeader_srlEnableHorizontalDrag, mEnableHorizontalDrag);
+        mCanvasHeader.setEnableHorizontalDrag(ta.getBoolean(R.styleable.BezierRadarHeader_srlEnableHorizontalDrag, mCanvasHeader.mEnableHorizontalDrag));
         setAccentColor(ta.getColor(R.styleable.BezierRadarHeader_srlAccentColor, 0xFFffffff));
         setPrimaryColor(ta.getColor(R.styleable.BezierRadarHeader_srlPrimaryColor, 0xFF222222));
-        mManualAccentColor = ta.hasValue(R.styleable.BezierRadarHeader_srlAccentColor);
-        mManualPrimaryColor = ta.hasValue(R.styleable.BezierRadarHeader_srlPrimaryColor);
+        mCanvasHeader.mManualAccentColor = ta.hasValue(R.styleable.BezierRadarHeader_srlAccentColor);
+        mCanvasHeader.mManualPrimaryColor = ta.hasValue(R.styleable.BezierRadarHeader_srlPrimaryColor);
 
         ta.recycle();
 
@@ -108,11 +81,7 @@ public class BezierRadarHeader extends InternalAbstract implements RefreshHeader
     @Override
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
-        if (mAnimatorSet != null) {
-            mAnimatorSet.removeAllListeners();
-            mAnimatorSet.end();
-            mAnimatorSet = null;
-        }
+        mCanvasHeader.onDetachedFromHost();
     }
     //</editor-fold>
 
@@ -121,7 +90,7 @@ public class BezierRadarHeader extends InternalAbstract implements RefreshHeader
     protected void dispatchDraw(Canvas canvas) {
         final View thisView = this;
         final int width = thisView.getWidth();
-        final int height = thisView.isInEditMode() ? thisView.getHeight() : mWaveOffsetY;
+        final int height = thisView.isInEditMode() ? thisView.getHeight() : mCanvasHeader.mWaveOffsetY;
         drawWave(canvas, width);
         drawDot(canvas, width, height);
         drawRadar(canvas, width, height);
@@ -130,19 +99,12 @@ public class BezierRadarHeader extends InternalAbstract implements RefreshHeader
     }
 
     /**
-     * 绘制背景波形
+     * 绘制背景波形，由 mCanvasHeader 完成，子类可以重写
      * @param canvas 画布
      * @param width 宽度
      */
     protected void drawWave(Canvas canvas, int width) {
-        //重置画笔
-        mPath.reset();
-        //绘制贝塞尔曲线
-        mPath.lineTo(0, mWaveTop);
-        mPath.quadTo(mWaveOffsetX >= 0 ? (mWaveOffsetX) : width / 2f, mWaveTop + mWaveHeight, width, mWaveTop);
-        mPath.lineTo(width, 0);
-        mPaint.setColor(mPrimaryColor);
-        canvas.drawPath(mPath, mPaint);
+        mCanvasHeader.drawWave(canvas, width);
     }
 
     /**
@@ -151,21 +113,7 @@ public class BezierRadarHeader extends InternalAbstract implements RefreshHeader
      * @param width 宽度
      */
     protected void drawDot(Canvas canvas, int width, int height) {
-        if (mDotAlpha > 0) {
-            mPaint.setColor(mAccentColor);
-            final int num = 7;
-            float x = SmartUtil.px2dp(height);
-            float wide = (1f * width / num) * mDotFraction -((mDotFraction >1)?((mDotFraction -1)*(1f * width / num)/ mDotFraction):0);//y1 = t*(w/n)-(t>1)*((t-1)*(w/n)/t)
-            float high = height - ((mDotFraction > 1) ? ((mDotFraction - 1) * height / 2 / mDotFraction) : 0);//y2 = x - (t>1)*((t-1)*x/t);
-            for (int i = 0 ; i < num; i++) {
-                float index = 1f + i - (1f + num) / 2;//y3 = (x + 1) - (n + 1)/2; 居中 index 变量：0 1 2 3 4 结果： -2 -1 0 1 2
-                float alpha = 255 * (1 - (2 * (Math.abs(index) / num)));//y4 = m * ( 1 - 2 * abs(y3) / n); 横向 alpha 差
-                mPaint.setAlpha((int) (mDotAlpha * alpha * (1d - 1d / Math.pow((x / 800d + 1d), 15))));//y5 = y4 * (1-1/((x/800+1)^15));竖直 alpha 差
-                float radius = mDotRadius * (1-1/((x/10+1)));//y6 = mDotRadius*(1-1/(x/10+1));半径
-                canvas.drawCircle(width / 2f- radius/2 + wide * index , high / 2, radius, mPaint);
-            }
-            mPaint.setAlpha(255);
-        }
+        mCanvasHeader.drawDot(canvas, width, height);
     }
 
     /**
@@ -175,30 +123,7 @@ public class BezierRadarHeader extends InternalAbstract implements RefreshHeader
      * @param height 高度
      */
     protected void drawRadar(Canvas canvas, int width, int height) {
-        final View thisView = this;
-        if (/*mRadarAnimator != null*/mAnimatorSet != null || thisView.isInEditMode()) {
-            float radius = mRadarRadius * mRadarScale;
-            float circle = mRadarCircle * mRadarScale;
-
-            mPaint.setColor(mAccentColor);
-            mPaint.setStyle(Paint.Style.FILL);
-            canvas.drawCircle(width / 2f, height / 2f, radius, mPaint);
-
-            mPaint.setStyle(Paint.Style.STROKE);//设置为空心
-            canvas.drawCircle(width / 2f, height / 2f, radius + circle, mPaint);
-
-            mPaint.setColor(mPrimaryColor & 0x00ffffff | 0x55000000);
-            mPaint.setStyle(Paint.Style.FILL);
-            mRadarRect.set(width / 2f - radius, height / 2f - radius, width / 2f + radius, height / 2f + radius);
-            canvas.drawArc(mRadarRect, 270, mRadarAngle, true, mPaint);
-
-            radius += circle;
-            mPaint.setStyle(Paint.Style.STROKE);
-            mRadarRect.set(width / 2f - radius, height / 2f - radius, width / 2f + radius, height / 2f + radius);
-            canvas.drawArc(mRadarRect, 270, mRadarAngle, false, mPaint);
-
-            mPaint.setStyle(Paint.Style.FILL);
-        }
+        mCanvasHeader.drawRadar(canvas, width, height);
     }
 
     /**
@@ -208,132 +133,75 @@ public class BezierRadarHeader extends InternalAbstract implements RefreshHeader
      * @param height 高度
      */
     protected void drawRipple(Canvas canvas, int width, int height) {
-        if (mRippleRadius > 0) {
-            mPaint.setColor(mAccentColor);
-            canvas.drawCircle(width / 2f, height / 2f, mRippleRadius, mPaint);
-        }
+        mCanvasHeader.drawRipple(canvas, width, height);
     }
     //</editor-fold>
 
     //<editor-fold desc="刷新接口 - RefreshHeader">
+    /**
+     * 完成时的白色扩散使用 CircularReveal（RenderNodeAnimator），从 API 21 开始在 RenderThread 执行
+     * 刷新中的雷达旋转仍然由主线程绘制
+     */
     @Override
-    public void onMoving(boolean isDragging, float percent, int offset, int height, int maxDragHeight) {
-        mWaveOffsetY = offset;
-        if (isDragging || mWavePulling) {
-            mWavePulling = true;
-            mWaveTop = Math.min(height, offset);
-            mWaveHeight = (int) (1.9f * Math.max(0, offset - height));
-            mDotFraction = percent;
-
-            final View thisView = this;
-            thisView.invalidate();
-        }
+    public boolean isSupportRenderAnimator() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP;
     }
 
     @Override
-    public void onReleased(@NonNull final RefreshLayout refreshLayout, int height, int maxDragHeight) {
-        mWaveTop = height - 1;//减1，是为了消除边缘绘制，冒出线条问题
-        mWavePulling = false;
-
-        Interpolator interpolatorDecelerate = new SmartUtil(SmartUtil.INTERPOLATOR_DECELERATE);//new DecelerateInterpolator();
-        //圆点消失动画
-        ValueAnimator animatorDotAlpha = ValueAnimator.ofFloat(1, 0);
-        animatorDotAlpha.setInterpolator(interpolatorDecelerate);
-        animatorDotAlpha.addUpdateListener(new AnimatorUpdater(PROPERTY_DOT_ALPHA));
-        //雷达出现动画
-        ValueAnimator animatorRadarScale = ValueAnimator.ofFloat(0, 1);
-        animatorDotAlpha.setInterpolator(interpolatorDecelerate);
-        animatorRadarScale.addUpdateListener(new AnimatorUpdater(PROPERTY_RADAR_SCALE));
-        //雷达旋转
-        ValueAnimator mRadarAnimator = ValueAnimator.ofInt(0,360);
-        mRadarAnimator.setDuration(720);
-        mRadarAnimator.setRepeatCount(ValueAnimator.INFINITE);
-        mRadarAnimator.setInterpolator(new AccelerateDecelerateInterpolator());
-        mRadarAnimator.addUpdateListener(new AnimatorUpdater(PROPERTY_RADAR_ANGLE));
-        //连续动画集
-        AnimatorSet animatorSet = new AnimatorSet();
-        animatorSet.playSequentially(animatorDotAlpha, animatorRadarScale, mRadarAnimator);
-        animatorSet.start();
-        //贝塞尔弹性动画
-        ValueAnimator animatorWave = ValueAnimator.ofInt(
-                mWaveHeight, 0,
-                -(int)(mWaveHeight *0.8f),0,
-                -(int)(mWaveHeight *0.4f),0);
-        animatorWave.addUpdateListener(new AnimatorUpdater(PROPERTY_WAVE_HEIGHT));
-        animatorWave.setInterpolator(new SmartUtil(SmartUtil.INTERPOLATOR_DECELERATE));
-        animatorWave.setDuration(800);
-        animatorWave.start();
-
-        mAnimatorSet = animatorSet;
+    public void onStartRenderAnimator(@NonNull RefreshLayout refreshLayout, int height, int maxDragHeight) {
+        if (mRippleView == null) {
+            //提前在刷新时添加，完成时已经测量布局完毕，可以直接开始扩散
+            final View thisView = this;
+            mRippleView = new View(thisView.getContext());
+            mRippleView.setVisibility(INVISIBLE);
+            addView(mRippleView, new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+        }
+        onStartAnimator(refreshLayout, height, maxDragHeight);
     }
 
     @Override
-    public int onFinish(@NonNull RefreshLayout layout, boolean success) {
-        if (mAnimatorSet != null) {
-            mAnimatorSet.removeAllListeners();
-            mAnimatorSet.end();
-            mAnimatorSet = null;
+    public int onFinishRenderAnimator(@NonNull RefreshLayout refreshLayout, boolean success) {
+        final View rippleView = mRippleView;
+        if (rippleView == null || rippleView.getWidth() == 0 || Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            return onFinish(refreshLayout, success);
         }
+        mCanvasHeader.endAnimator();
 
         final int duration = 400;
         final View thisView = this;
         final int width = thisView.getWidth();
-        final int height = mWaveOffsetY;//thisView.getHeight();
+        final int height = mCanvasHeader.mWaveOffsetY;
         final float bigRadius = (float) (Math.sqrt(width * width + height * height));
-        ValueAnimator animator = ValueAnimator.ofFloat(mRadarRadius, bigRadius);
+        rippleView.setBackgroundColor(mCanvasHeader.mAccentColor);
+        rippleView.setVisibility(VISIBLE);
+        Animator animator = ViewAnimationUtils.createCircularReveal(rippleView, width / 2, height / 2, mCanvasHeader.mRadarRadius, bigRadius);
         animator.setDuration(duration);
-        animator.addUpdateListener(new AnimatorUpdater(PROPERTY_RIPPLE_RADIUS));
         animator.start();
         return duration;
     }
 
     @Override
     public void onStateChanged(@NonNull RefreshLayout refreshLayout, @NonNull RefreshState oldState, @NonNull RefreshState newState) {
+        super.onStateChanged(refreshLayout, oldState, newState);
         switch (newState) {
             case None:
             case PullDownToRefresh:
-                mDotAlpha = 1;
-                mRadarScale = 0;
-                mRippleRadius = 0;
+                if (mRippleView != null) {
+                    mRippleView.setVisibility(INVISIBLE);
+                }
                 break;
         }
     }
-
-    @Override@Deprecated
-    public void setPrimaryColors(@ColorInt int ... colors) {
-        if (colors.length > 0 && !mManualPrimaryColor) {
-            setPrimaryColor(colors[0]);
-            mManualPrimaryColor = false;
-        }
-        if (colors.length > 1 && !mManualAccentColor) {
-            setAccentColor(colors[1]);
-            mManualAccentColor = false;
-        }
-    }
-
-    @Override
-    public boolean isSupportHorizontalDrag() {
-        return mEnableHorizontalDrag;
-    }
-
-    @Override
-    public void onHorizontalDrag(float percentX, int offsetX, int offsetMax) {
-        mWaveOffsetX = offsetX;
-        final View thisView = this;
-        thisView.invalidate();
-    }
     //</editor-fold>
 
     //<editor-fold desc="开放接口 - API">
     public BezierRadarHeader setPrimaryColor(@ColorInt int color) {
-        mPrimaryColor = color;
-        mManualPrimaryColor = true;
+        mCanvasHeader.setPrimaryColor(color);
         return this;
     }
 
     public BezierRadarHeader setAccentColor(@ColorInt int color) {
-        mAccentColor = color;
-        mManualAccentColor = true;
+        mCanvasHeader.setAccentColor(color);
         return this;
     }
 
@@ -350,46 +218,206 @@ public class BezierRadarHeader extends InternalAbstract implements RefreshHeader
     }
 
     public BezierRadarHeader setEnableHorizontalDrag(boolean enable) {
-        this.mEnableHorizontalDrag = enable;
-        if (!enable) {
-            mWaveOffsetX = -1;
-        }
+        mCanvasHeader.setEnableHorizontalDrag(enable);
         return this;
     }
     //</editor-fold>
 
-    //<editor-fold desc="动画更新">
-    protected static final byte PROPERTY_RADAR_SCALE = 0;
-    protected static final byte PROPERTY_WAVE_HEIGHT = 1;
-    protected static final byte PROPERTY_DOT_ALPHA = 2;
-    protected static final byte PROPERTY_RIPPLE_RADIUS = 3;
-    protected static final byte PROPERTY_RADAR_ANGLE = 4;
+    //<editor-fold desc="兼容旧版本 - Deprecated">
+    /*
+     * 绘制和动画的状态已经移到 mCanvasHeader，旧版本子类访问的字段改为以下访问方法
+     */
+    @Deprecated
+    protected int getAccentColor() {
+        return mCanvasHeader.mAccentColor;
+    }
+
+    @Deprecated
+    protected int getPrimaryColor() {
+        return mCanvasHeader.mPrimaryColor;
+    }
+
+    @Deprecated
+    protected boolean isManualPrimaryColor() {
+        return mCanvasHeader.mManualPrimaryColor;
+    }
+
+    @Deprecated
+    protected void setManualPrimaryColor(boolean manualPrimaryColor) {
+        mCanvasHeader.mManualPrimaryColor = manualPrimaryColor;
+    }
+
+    @Deprecated
+    protected boolean isManualAccentColor() {
+        return mCanvasHeader.mManualAccentColor;
+    }
+
+    @Deprecated
+    protected void setManualAccentColor(boolean manualAccentColor) {
+        mCanvasHeader.mManualAccentColor = manualAccentColor;
+    }
+
+    @Deprecated
+    protected boolean isWavePulling() {
+        return mCanvasHeader.mWavePulling;
+    }
+
+    @Deprecated
+    protected void setWavePulling(boolean wavePulling) {
+        mCanvasHeader.mWavePulling = wavePulling;
+    }
+
+    @Deprecated
+    protected boolean isEnableHorizontalDrag() {
+        return mCanvasHeader.mEnableHorizontalDrag;
+    }
+
+    @Deprecated
+    protected int getWaveTop() {
+        return mCanvasHeader.mWaveTop;
+    }
+
+    @Deprecated
+    protected void setWaveTop(int waveTop) {
+        mCanvasHeader.mWaveTop = waveTop;
+    }
+
+    @Deprecated
+    protected int getWaveHeight() {
+        return mCanvasHeader.mWaveHeight;
+    }
+
+    @Deprecated
+    protected void setWaveHeight(int waveHeight) {
+        mCanvasHeader.mWaveHeight = waveHeight;
+    }
+
+    @Deprecated
+    protected int getWaveOffsetX() {
+        return mCanvasHeader.mWaveOffsetX;
+    }
+
+    @Deprecated
+    protected void setWaveOffsetX(int waveOffsetX) {
+        mCanvasHeader.mWaveOffsetX = waveOffsetX;
+    }
+
+    @Deprecated
+    protected int getWaveOffsetY() {
+        return mCanvasHeader.mWaveOffsetY;
+    }
+
+    @Deprecated
+    protected void setWaveOffsetY(int waveOffsetY) {
+        mCanvasHeader.mWaveOffsetY = waveOffsetY;
+    }
+
+    @Deprecated
+    protected float getDotAlpha() {
+        return mCanvasHeader.mDotAlpha;
+    }
+
+    @Deprecated
+    protected void setDotAlpha(float dotAlpha) {
+        mCanvasHeader.mDotAlpha = dotAlpha;
+    }
+
+    @Deprecated
+    protected float getDotFraction() {
+        return mCanvasHeader.mDotFraction;
+    }
+
+    @Deprecated
+    protected void setDotFraction(float dotFraction) {
+        mCanvasHeader.mDotFraction = dotFraction;
+    }
+
+    @Deprecated
+    protected float getDotRadius() {
+        return mCanvasHeader.mDotRadius;
+    }
+
+    @Deprecated
+    protected void setDotRadius(float dotRadius) {
+        mCanvasHeader.mDotRadius = dotRadius;
+    }
+
+    @Deprecated
+    protected float getRippleRadius() {
+        return mCanvasHeader.mRippleRadius;
+    }
+
+    @Deprecated
+    protected void setRippleRadius(float rippleRadius) {
+        mCanvasHeader.mRippleRadius = rippleRadius;
+    }
+
+    @Deprecated
+    protected int getRadarAngle() {
+        return mCanvasHeader.mRadarAngle;
+    }
+
+    @Deprecated
+    protected void setRadarAngle(int radarAngle) {
+        mCanvasHeader.mRadarAngle = radarAngle;
+    }
+
+    @Deprecated
+    protected float getRadarRadius() {
+        return mCanvasHeader.mRadarRadius;
+    }
 
+    @Deprecated
+    protected void setRadarRadius(float radarRadius) {
+        mCanvasHeader.mRadarRadius = radarRadius;
+    }
+
+    @Deprecated
+    protected float getRadarCircle() {
+        return mCanvasHeader.mRadarCircle;
+    }
+
+    @Deprecated
+    protected void setRadarCircle(float radarCircle) {
+        mCanvasHeader.mRadarCircle = radarCircle;
+    }
+
+    @Deprecated
+    protected float getRadarScale() {
+        return mCanvasHeader.mRadarScale;
+    }
+
+    @Deprecated
+    protected void setRadarScale(float radarScale) {
+        mCanvasHeader.mRadarScale = radarScale;
+    }
+
+    @Deprecated
+    protected Animator getAnimatorSet() {
+        return mCanvasHeader.mAnimatorSet;
+    }
+
+    @Deprecated
+    protected static final byte PROPERTY_RADAR_SCALE = BezierRadarCanvasHeader.PROPERTY_RADAR_SCALE;
+    @Deprecated
+    protected static final byte PROPERTY_WAVE_HEIGHT = BezierRadarCanvasHeader.PROPERTY_WAVE_HEIGHT;
+    @Deprecated
+    protected static final byte PROPERTY_DOT_ALPHA = BezierRadarCanvasHeader.PROPERTY_DOT_ALPHA;
+    @Deprecated
+    protected static final byte PROPERTY_RIPPLE_RADIUS = BezierRadarCanvasHeader.PROPERTY_RIPPLE_RADIUS;
+    @Deprecated
+    protected static final byte PROPERTY_RADAR_ANGLE = BezierRadarCanvasHeader.PROPERTY_RADAR_ANGLE;
+
+    @Deprecated
     protected class AnimatorUpdater implements ValueAnimator.AnimatorUpdateListener {
 
-        byte propertyName;
+        ValueAnimator.AnimatorUpdateListener updater;
         AnimatorUpdater(byte name) {
-            this.propertyName = name;
+            this.updater = mCanvasHeader.new AnimatorUpdater(name);
         }
         @Override
         public void onAnimationUpdate(ValueAnimator animation) {
-            if (PROPERTY_RADAR_SCALE == propertyName) {
-                mRadarScale = (float) animation.getAnimatedValue();
-            } else if (PROPERTY_WAVE_HEIGHT == propertyName) {
-                if (mWavePulling) {
-                    animation.cancel();
-                    return;
-                }
-                mWaveHeight = (int) animation.getAnimatedValue() / 2;
-            } else if (PROPERTY_DOT_ALPHA == propertyName) {
-                mDotAlpha = (float) animation.getAnimatedValue();
-            } else if (PROPERTY_RIPPLE_RADIUS == propertyName) {
-                mRippleRadius = (float) animation.getAnimatedValue();
-            } else if (PROPERTY_RADAR_ANGLE == propertyName) {
-                mRadarAngle = (int) animation.getAnimatedValue();
-            }
-            final View thisView = BezierRadarHeader.this;
-            thisView.invalidate();
+            updater.onAnimationUpdate(animation);
         }
     }
     //</editor-fold>
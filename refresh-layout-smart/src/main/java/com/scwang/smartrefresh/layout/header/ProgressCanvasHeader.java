@@ -0,0 +1,98 @@
+package com.scwang.smartrefresh.layout.header;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+
+import com.scwang.smartrefresh.layout.api.RefreshHeader;
+import com.scwang.smartrefresh.layout.api.RefreshLayout;
+import com.scwang.smartrefresh.layout.internal.InternalCanvas;
+import com.scwang.smartrefresh.layout.internal.ProgressDrawable;
+import com.scwang.smartrefresh.layout.util.SmartUtil;
+
+/**
+ * 经典菊花进度刷新组件（无视图）
+ * 只绘制 {@link ProgressDrawable}，没有文字和箭头，直接绘制在 SmartRefreshLayout 上
+ */
+@SuppressWarnings({"UnusedReturnValue", "unused"})
+public class ProgressCanvasHeader extends InternalCanvas implements RefreshHeader {
+
+    protected int mProgressSize;
+    protected boolean mManualAccentColor;
+    protected ProgressDrawable mProgressDrawable;
+
+    public ProgressCanvasHeader(@NonNull Context context) {
+        super(context);
+        mHeight = SmartUtil.dp2px(60);
+        mProgressSize = SmartUtil.dp2px(20);
+        mProgressDrawable = new ProgressDrawable();
+        mProgressDrawable.setColor(0xff666666);
+        mProgressDrawable.setCallback(new Drawable.Callback() {
+            @Override
+            public void invalidateDrawable(@NonNull Drawable who) {
+                invalidate();
+            }
+            @Override
+            public void scheduleDrawable(@NonNull Drawable who, @NonNull Runnable what, long when) {
+            }
+            @Override
+            public void unscheduleDrawable(@NonNull Drawable who, @NonNull Runnable what) {
+            }
+        });
+    }
+
+    /**
+     * 菊花跟随 Header 的底部（与 Translate 一致）
+     * @param canvas 画布
+     * @param width 宽度
+     * @param height 可见高度
+     */
+    @Override
+    public void onDraw(@NonNull Canvas canvas, int width, int height) {
+        final int size = mProgressSize;
+        final int centerY = isHeadless() && mHeight > 0 ? height - mHeight / 2 : height / 2;
+        final int left = (width - size) / 2;
+        final int top = centerY - size / 2;
+        mProgressDrawable.setBounds(left, top, left + size, top + size);
+        mProgressDrawable.draw(canvas);
+    }
+
+    @Override
+    public void onDetachedFromHost() {
+        mProgressDrawable.stop();
+    }
+
+    @Override
+    public void onStartAnimator(@NonNull RefreshLayout refreshLayout, int height, int maxDragHeight) {
+        mProgressDrawable.start();
+    }
+
+    @Override
+    public int onFinish(@NonNull RefreshLayout refreshLayout, boolean success) {
+        mProgressDrawable.stop();
+        return 0;
+    }
+
+    @Override@Deprecated
+    public void setPrimaryColors(@ColorInt int... colors) {
+        if (colors.length > 1 && !mManualAccentColor) {
+            setAccentColor(colors[1]);
+            mManualAccentColor = false;
+        }
+    }
+
+    public ProgressCanvasHeader setAccentColor(@ColorInt int color) {
+        mManualAccentColor = true;
+        mProgressDrawable.setColor(color);
+        invalidate();
+        return this;
+    }
+
+    public ProgressCanvasHeader setProgressSize(int sizePx) {
+        mProgressSize = sizePx;
+        invalidate();
+        return this;
+    }
+}
@@ -0,0 +1,153 @@
+package com.scwang.smartrefresh.layout.header;
+
+import android.content.Context;
+import android.graphics.Rect;
+import android.os.Build;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.view.ViewCompat;
+
+import com.scwang.smartrefresh.layout.api.RefreshHeader;
+import com.scwang.smartrefresh.layout.api.RefreshLayout;
+import com.scwang.smartrefresh.layout.constant.RefreshState;
+import com.scwang.smartrefresh.layout.constant.SpinnerStyle;
+import com.scwang.smartrefresh.layout.internal.InternalAbstract;
+import com.scwang.smartrefresh.layout.util.SmartUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 下拉放大 Header
+ * 放大的视图（如列表顶部的头图）在内容中，下拉时内容跟随移动，
+ * 本 Header 在 onMoving 中以视图底部为轴心等比缩放，刚好填满拉开的空间，
+ * 下拉、放大、刷新、回弹都由 SmartRefreshLayout 的同一套触摸和动画驱动
+ */
+@SuppressWarnings({"UnusedReturnValue", "unused"})
+public class PullZoomHeader extends InternalAbstract implements RefreshHeader {
+
+    protected View mZoomView;
+    protected boolean mZoomClipPrepared;
+    protected Rect mZoomClipBounds = new Rect();
+    protected List<ViewGroup> mUnclippedParents = new ArrayList<>();
+
+    //<editor-fold desc="构造方法">
+    public PullZoomHeader(Context context) {
+        this(context, null);
+    }
+
+    public PullZoomHeader(Context context, AttributeSet attrs) {
+        super(context, attrs, 0);
+        mSpinnerStyle = SpinnerStyle.Zoom;
+        final View thisView = this;
+        thisView.setMinimumHeight(SmartUtil.dp2px(60));
+    }
+    //</editor-fold>
+
+    //<editor-fold desc="RefreshHeader">
+    @Override
+    public void onMoving(boolean isDragging, float percent, int offset, int height, int maxDragHeight) {
+        final View zoomView = mZoomView;
+        if (zoomView == null) {
+            return;
+        }
+        final int zoomWidth = zoomView.getWidth();
+        final int zoomHeight = zoomView.getHeight();
+        if (zoomWidth <= 0 || zoomHeight <= 0) {
+            return;
+        }
+        if (!mZoomClipPrepared && offset > 0) {
+            mZoomClipPrepared = true;
+            //放大部分会超出父控件的范围，由 clipBounds 裁剪
+            for (ViewParent parent = zoomView.getParent(); parent instanceof ViewGroup; parent = parent.getParent()) {
+                final ViewGroup group = (ViewGroup) parent;
+                if (Build.VERSION.SDK_INT < 18 || group.getClipChildren()) {
+                    //只记录被本 Header 改过的父控件，恢复时不影响原本就不裁剪的
+                    group.setClipChildren(false);
+                    mUnclippedParents.add(group);
+                }
+                if (parent instanceof RefreshLayout) {
+                    break;
+                }
+            }
+        }
+        final float scale = 1f + 1f * Math.max(offset, 0) / zoomHeight;
+        zoomView.setPivotX(zoomWidth / 2f);
+        zoomView.setPivotY(zoomHeight);
+        zoomView.setScaleX(scale);
+        zoomView.setScaleY(scale);
+        //横向超出的部分裁掉（缩放前的坐标）
+        final int clipLeft = (int) (zoomWidth * (1 - 1 / scale) / 2);
+        mZoomClipBounds.set(clipLeft, 0, zoomWidth - clipLeft, zoomHeight);
+        ViewCompat.setClipBounds(zoomView, scale > 1 ? mZoomClipBounds : null);
+        if (offset <= 0) {
+            //回到原位后不再超出父控件，立即恢复裁剪
+            restoreZoomClip();
+        }
+    }
+
+    @Override
+    public void onStateChanged(@NonNull RefreshLayout refreshLayout, @NonNull RefreshState oldState, @NonNull RefreshState newState) {
+        super.onStateChanged(refreshLayout, oldState, newState);
+        if (newState == RefreshState.None) {
+            //onMoving 提前返回时（如放大视图尺寸为 0）没有机会恢复，状态回到 None 时兜底
+            restoreZoomClip();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        restoreZoomClip();
+    }
+
+    @Override
+    public int onFinish(@NonNull RefreshLayout refreshLayout, boolean success) {
+        return 0;
+    }
+
+    /**
+     * 没有需要着色的部分，忽略主题颜色
+     * @param colors 颜色
+     */
+    @Override
+    public void setPrimaryColors(int... colors) {
+    }
+    //</editor-fold>
+
+    //<editor-fold desc="API">
+    /**
+     * 设置下拉放大的视图
+     * @param zoomView 内容顶部的视图（如头图），null 取消放大
+     * @return PullZoomHeader
+     */
+    public PullZoomHeader setZoomView(@Nullable View zoomView) {
+        if (mZoomView != null && mZoomView != zoomView) {
+            mZoomView.setScaleX(1);
+            mZoomView.setScaleY(1);
+            ViewCompat.setClipBounds(mZoomView, null);
+        }
+        restoreZoomClip();
+        mZoomView = zoomView;
+        return this;
+    }
+    //</editor-fold>
+
+    //<editor-fold desc="private">
+    /**
+     * 恢复 onMoving 中关闭了 clipChildren 的父控件
+     */
+    protected void restoreZoomClip() {
+        for (ViewGroup group : mUnclippedParents) {
+            group.setClipChildren(true);
+        }
+        mUnclippedParents.clear();
+        mZoomClipPrepared = false;
+    }
+    //</editor-fold>
+}
@@ -1,10 +1,15 @@
 package com.scwang.smartrefresh.layout.header;
 
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.res.Configuration;
 import android.content.res.TypedArray;
+import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.core.view.ViewCompat;
 import android.util.AttributeSet;
+import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
@@ -14,11 +19,16 @@ import com.scwang.smartrefresh.layout.api.RefreshHeader;
 import com.scwang.smartrefresh.layout.api.RefreshInternal;
 import com.scwang.smartrefresh.layout.api.RefreshKernel;
 import com.scwang.smartrefresh.layout.api.RefreshLayout;
+import com.scwang.smartrefresh.layout.api.TwoLevelContentCreator;
 import com.scwang.smartrefresh.layout.constant.RefreshState;
 import com.scwang.smartrefresh.layout.constant.SpinnerStyle;
 import com.scwang.smartrefresh.layout.internal.InternalAbstract;
 import com.scwang.smartrefresh.layout.listener.OnStateChangedListener;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
 import static android.view.ViewGroup.LayoutParams.MATCH_PARENT;
 import static android.view.ViewGroup.LayoutParams.WRAP_CONTENT;
 
@@ -44,6 +54,15 @@ public class TwoLevelHeader extends InternalAbstract implements RefreshHeader/*,
     protected RefreshInternal mRefreshHeader;
     protected RefreshKernel mRefreshKernel;
     protected OnTwoLevelListener mTwoLevelListener;
+    protected float mFloorPreloadRage = 0;//预加载二楼的比率（相对 mMaxRage），0 表示进入 ReleaseToTwoLevel 时才加载
+    protected boolean mReleaseFloorWhenFinish = false;//是否在 finishTwoLevel 之后总是释放二楼
+    protected boolean mFloorMemoryTight = false;//系统是否通知内存紧张
+    protected boolean mFloorLoading = false;//二楼内容是否正在后台加载
+    protected int mFloorGeneration = 0;//二楼加载批次，用于丢弃释放后才返回的加载结果
+    protected View mFloorContent;
+    protected TwoLevelContentCreator mFloorCreator;
+    protected ComponentCallbacks2 mFloorTrimCallbacks;
+    protected static Executor sFloorExecutor;
 //    protected SpinnerStyle mSpinnerStyle = SpinnerStyle.FixedBehind;
 //    protected Method mRequestDrawBackgroundForHeaderMethod;
     //</editor-fold>
@@ -66,6 +85,11 @@ public class TwoLevelHeader extends InternalAbstract implements RefreshHeader/*,
         mFloorDuration = ta.getInt(R.styleable.TwoLevelHeader_srlFloorDuration, mFloorDuration);
         mEnableTwoLevel = ta.getBoolean(R.styleable.TwoLevelHeader_srlEnableTwoLevel, mEnableTwoLevel);
         mEnablePullToCloseTwoLevel = ta.getBoolean(R.styleable.TwoLevelHeader_srlEnablePullToCloseTwoLevel, mEnablePullToCloseTwoLevel);
+        mFloorPreloadRage = ta.getFloat(R.styleable.TwoLevelHeader_srlFloorPreloadRage, mFloorPreloadRage);
+        mReleaseFloorWhenFinish = ta.getBoolean(R.styleable.TwoLevelHeader_srlReleaseFloorWhenFinish, mReleaseFloorWhenFinish);
+        if (ta.hasValue(R.styleable.TwoLevelHeader_srlFloorLayout)) {
+            setTwoLevelContent(ta.getResourceId(R.styleable.TwoLevelHeader_srlFloorLayout, 0));
+        }
 
         ta.recycle();
     }
@@ -99,12 +123,20 @@ public class TwoLevelHeader extends InternalAbstract implements RefreshHeader/*,
             final ViewGroup thisView = this;
             setRefreshHeader(new ClassicsHeader(thisView.getContext()));
         }
+        if (mFloorCreator != null) {
+            registerFloorTrimCallbacks();
+        }
     }
 
     @Override
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
         mSpinnerStyle = SpinnerStyle.FixedBehind;
+        if (mFloorTrimCallbacks != null) {
+            final View thisView = this;
+            thisView.getContext().getApplicationContext().unregisterComponentCallbacks(mFloorTrimCallbacks);
+            mFloorTrimCallbacks = null;
+        }
     }
 
     @Override
@@ -166,6 +198,14 @@ public class TwoLevelHeader extends InternalAbstract implements RefreshHeader/*,
             final OnStateChangedListener listener = mRefreshHeader;
             listener.onStateChanged(refreshLayout, oldState, newState);
             switch (newState) {
+                case ReleaseToTwoLevel:
+                    preloadTwoLevelContent();
+                    break;
+                case None:
+                    if (oldState == RefreshState.TwoLevelFinish && (mReleaseFloorWhenFinish || mFloorMemoryTight)) {
+                        releaseTwoLevelContent();
+                    }
+                    break;
                 case TwoLevelReleased:
                     if (refreshHeader.getView() != this) {
                         refreshHeader.getView().animate().alpha(0).setDuration(mFloorDuration / 2);
@@ -201,6 +241,9 @@ public class TwoLevelHeader extends InternalAbstract implements RefreshHeader/*,
             refreshHeader.onMoving(isDragging, percent, offset, height, maxDragHeight);
         }
         if (isDragging) {
+            if (mFloorPreloadRage > 0 && percent >= mFloorPreloadRage * mMaxRage) {
+                preloadTwoLevelContent();
+            }
             if (mPercent < mFloorRage && percent >= mFloorRage && mEnableTwoLevel) {
                 refreshKernel.setState(RefreshState.ReleaseToTwoLevel);
             } else if (mPercent >= mFloorRage && percent < mRefreshRage) {
@@ -227,6 +270,113 @@ public class TwoLevelHeader extends InternalAbstract implements RefreshHeader/*,
     }
     //</editor-fold>
 
+    //<editor-fold desc="懒加载二楼">
+    /**
+     * 预加载二楼内容
+     * 在后台线程创建视图，完成后回到主线程添加到 Header 的最底层
+     */
+    protected void preloadTwoLevelContent() {
+        final TwoLevelContentCreator creator = mFloorCreator;
+        if (creator == null || mFloorContent != null || mFloorLoading) {
+            return;
+        }
+        mFloorLoading = true;
+        final int generation = ++mFloorGeneration;
+        final ViewGroup thisGroup = this;
+        final LayoutInflater inflater = LayoutInflater.from(thisGroup.getContext());
+        //LayoutInflater 不是线程安全的，后台线程使用独立的副本
+        final LayoutInflater backgroundInflater = inflater.cloneInContext(thisGroup.getContext());
+        if (sFloorExecutor == null) {
+            sFloorExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(@NonNull Runnable runnable) {
+                    Thread thread = new Thread(runnable, "SmartRefresh-TwoLevel");
+                    thread.setDaemon(true);//不阻止进程退出
+                    return thread;
+                }
+            });
+        }
+        sFloorExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                View content = null;
+                try {
+                    content = creator.onCreateTwoLevelContent(backgroundInflater, thisGroup);
+                } catch (RuntimeException e) {
+                    //后台创建失败（例如视图构造需要 Looper），回到主线程重新创建
+                }
+                final View created = content;
+                thisGroup.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != mFloorGeneration || creator != mFloorCreator) {
+                            return;
+                        }
+                        mFloorLoading = false;
+                        attachTwoLevelContent(created != null ? created : creator.onCreateTwoLevelContent(inflater, thisGroup));
+                    }
+                });
+            }
+        });
+    }
+
+    protected void attachTwoLevelContent(@NonNull View content) {
+        final ViewGroup thisGroup = this;
+        ViewGroup.LayoutParams params = content.getLayoutParams();
+        if (params == null) {
+            params = new LayoutParams(MATCH_PARENT, MATCH_PARENT);
+        }
+        thisGroup.addView(content, 0, params);
+        mFloorContent = content;
+        mFloorCreator.onTwoLevelContentAttached(content);
+    }
+
+    /**
+     * 释放二楼内容，下次越过预加载阈值时重新创建
+     */
+    protected void releaseTwoLevelContent() {
+        mFloorGeneration++;
+        mFloorLoading = false;
+        mFloorMemoryTight = false;
+        final View content = mFloorContent;
+        if (content != null) {
+            final ViewGroup thisGroup = this;
+            mFloorContent = null;
+            thisGroup.removeView(content);
+            if (mFloorCreator != null) {
+                mFloorCreator.onTwoLevelContentReleased(content);
+            }
+        }
+    }
+
+    protected void registerFloorTrimCallbacks() {
+        final View thisView = this;
+        if (mFloorTrimCallbacks == null && ViewCompat.isAttachedToWindow(thisView)) {
+            mFloorTrimCallbacks = new ComponentCallbacks2() {
+                @Override
+                public void onTrimMemory(int level) {
+                    if (level >= TRIM_MEMORY_RUNNING_LOW) {
+                        onLowMemory();
+                    }
+                }
+                @Override
+                public void onLowMemory() {
+                    final RefreshKernel refreshKernel = mRefreshKernel;
+                    if (refreshKernel != null && refreshKernel.getRefreshLayout().getState() == RefreshState.None && mSpinner == 0) {
+                        releaseTwoLevelContent();//二楼没有显示，直接释放
+                    } else {
+                        mFloorMemoryTight = true;//二楼正在显示，等 finishTwoLevel 之后释放
+                    }
+                }
+                @Override
+                public void onConfigurationChanged(@NonNull Configuration newConfig) {
+                }
+            };
+            thisView.getContext().getApplicationContext().registerComponentCallbacks(mFloorTrimCallbacks);
+        }
+    }
+    //</editor-fold>
+
 //    private int mNestedScrollAxes = 0;
 //    @Override
 //    public boolean onStartNestedScroll(View child, View target, int nestedScrollAxes) {
@@ -349,6 +499,70 @@ public class TwoLevelHeader extends InternalAbstract implements RefreshHeader/*,
         return this;
     }
 
+    /**
+     * 设置懒加载的二楼布局，首次越过预加载阈值时在后台线程加载
+     * @param layoutId 二楼布局Id
+     * @return TwoLevelHeader
+     */
+    public TwoLevelHeader setTwoLevelContent(@LayoutRes final int layoutId) {
+        return setTwoLevelContentCreator(new TwoLevelContentCreator() {
+            @NonNull
+            @Override
+            public View onCreateTwoLevelContent(@NonNull LayoutInflater inflater, @NonNull ViewGroup parent) {
+                return inflater.inflate(layoutId, parent, false);
+            }
+            @Override
+            public void onTwoLevelContentAttached(@NonNull View content) {
+            }
+            @Override
+            public void onTwoLevelContentReleased(@NonNull View content) {
+            }
+        });
+    }
+
+    /**
+     * 设置懒加载的二楼创建器，首次越过预加载阈值时在后台线程创建
+     * @param creator 二楼创建器 null 表示关闭懒加载
+     * @return TwoLevelHeader
+     */
+    public TwoLevelHeader setTwoLevelContentCreator(@Nullable TwoLevelContentCreator creator) {
+        releaseTwoLevelContent();
+        this.mFloorCreator = creator;
+        if (creator != null) {
+            registerFloorTrimCallbacks();
+        }
+        return this;
+    }
+
+    /**
+     * 获取已经加载的二楼内容
+     * @return 二楼内容 未加载或已释放时为 null
+     */
+    @Nullable
+    public View getTwoLevelContent() {
+        return mFloorContent;
+    }
+
+    /**
+     * 设置预加载二楼的比率
+     * @param rate 相对 MaxRage 的比率 (0 - 1)，0 表示进入 ReleaseToTwoLevel 时才加载
+     * @return TwoLevelHeader
+     */
+    public TwoLevelHeader setFloorPreloadRage(float rate) {
+        this.mFloorPreloadRage = rate;
+        return this;
+    }
+
+    /**
+     * 设置是否在 finishTwoLevel 之后总是释放二楼（默认只在内存紧张时释放）
+     * @param enabled 是否释放
+     * @return TwoLevelHeader
+     */
+    public TwoLevelHeader setReleaseFloorWhenFinish(boolean enabled) {
+        this.mReleaseFloorWhenFinish = enabled;
+        return this;
+    }
+
     /**
      * 设置二级刷新监听器
      * @param listener 监听器
@@ -380,6 +594,7 @@ public class TwoLevelHeader extends InternalAbstract implements RefreshHeader/*,
     public TwoLevelHeader openTwoLevel(boolean widthOnTwoLevelListener) {
         final RefreshKernel refreshKernel = mRefreshKernel;
         if (refreshKernel != null) {
+            preloadTwoLevelContent();
             final OnTwoLevelListener twoLevelListener = mTwoLevelListener;
             refreshKernel.startTwoLevel(!widthOnTwoLevelListener || twoLevelListener == null || twoLevelListener.onTwoLevel(refreshKernel.getRefreshLayout()));
         }
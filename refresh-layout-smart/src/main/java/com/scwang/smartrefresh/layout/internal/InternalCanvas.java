@@ -0,0 +1,113 @@
+package com.scwang.smartrefresh.layout.internal;
+
+import android.content.Context;
+import android.view.View;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+
+import com.scwang.smartrefresh.layout.api.RefreshCanvasInternal;
+import com.scwang.smartrefresh.layout.api.RefreshKernel;
+import com.scwang.smartrefresh.layout.api.RefreshLayout;
+import com.scwang.smartrefresh.layout.constant.RefreshState;
+import com.scwang.smartrefresh.layout.constant.SpinnerStyle;
+
+/**
+ * Headless 初步实现
+ * 实现无视图的 Header 和 Footer 时，继承 InternalCanvas 的话可以少写很多接口方法
+ * 也可以被 InternalAbstract 包装，作为普通视图组件使用
+ */
+public abstract class InternalCanvas implements RefreshCanvasInternal {
+
+    protected Context mContext;
+    protected View mHostView;
+    protected SpinnerStyle mSpinnerStyle = SpinnerStyle.Headless;
+    protected int mHeight;//HeaderHeight or FooterHeight
+
+    protected InternalCanvas(@NonNull Context context) {
+        this.mContext = context;
+    }
+
+    @Override
+    public void onAttachedToHost(@NonNull View host) {
+        this.mHostView = host;
+    }
+
+    @Override
+    public void onDetachedFromHost() {
+    }
+
+    /**
+     * 请求宿主重绘
+     */
+    protected void invalidate() {
+        final View host = mHostView;
+        if (host != null) {
+            host.invalidate();
+        }
+    }
+
+    /**
+     * 是否直接绘制在 RefreshLayout 上（没有被 InternalAbstract 包装）
+     * @return true 时 onDraw 的 height 只是可见高度
+     */
+    protected boolean isHeadless() {
+        return mHostView instanceof RefreshLayout;
+    }
+
+    protected boolean isInEditMode() {
+        final View host = mHostView;
+        return host != null && host.isInEditMode();
+    }
+
+    @NonNull
+    @Override
+    public View getView() {
+        return mHostView;
+    }
+
+    @NonNull
+    @Override
+    public SpinnerStyle getSpinnerStyle() {
+        return mSpinnerStyle;
+    }
+
+    @Override
+    public void setPrimaryColors(@ColorInt int... colors) {
+    }
+
+    @Override
+    public void onInitialized(@NonNull RefreshKernel kernel, int height, int maxDragHeight) {
+        mHeight = height;
+    }
+
+    @Override
+    public void onMoving(boolean isDragging, float percent, int offset, int height, int maxDragHeight) {
+    }
+
+    @Override
+    public void onReleased(@NonNull RefreshLayout refreshLayout, int height, int maxDragHeight) {
+    }
+
+    @Override
+    public void onStartAnimator(@NonNull RefreshLayout refreshLayout, int height, int maxDragHeight) {
+    }
+
+    @Override
+    public int onFinish(@NonNull RefreshLayout refreshLayout, boolean success) {
+        return 0;
+    }
+
+    @Override
+    public void onHorizontalDrag(float percentX, int offsetX, int offsetMax) {
+    }
+
+    @Override
+    public boolean isSupportHorizontalDrag() {
+        return false;
+    }
+
+    @Override
+    public void onStateChanged(@NonNull RefreshLayout refreshLayout, @NonNull RefreshState oldState, @NonNull RefreshState newState) {
+    }
+}
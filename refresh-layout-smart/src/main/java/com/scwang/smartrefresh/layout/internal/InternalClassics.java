@@ -10,6 +10,7 @@ import androidx.annotation.ColorRes;
 import androidx.annotation.DrawableRes;
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
+import androidx.core.graphics.drawable.DrawableCompat;
 import android.util.AttributeSet;
 import android.view.View;
 import android.view.ViewGroup;
@@ -17,9 +18,9 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import com.scwang.smartrefresh.layout.R;
-import com.scwang.smartrefresh.layout.api.RefreshInternal;
 import com.scwang.smartrefresh.layout.api.RefreshKernel;
 import com.scwang.smartrefresh.layout.api.RefreshLayout;
+import com.scwang.smartrefresh.layout.api.RefreshRenderInternal;
 import com.scwang.smartrefresh.layout.constant.SpinnerStyle;
 import com.scwang.smartrefresh.layout.util.SmartUtil;
 
@@ -29,7 +30,7 @@ import static android.view.View.MeasureSpec.EXACTLY;
  * 经典组件
  */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
-public abstract class InternalClassics<T extends InternalClassics> extends InternalAbstract implements RefreshInternal {
+public abstract class InternalClassics<T extends InternalClassics> extends InternalAbstract implements RefreshRenderInternal {
 
     public static final int ID_TEXT_TITLE = R.id.srl_classics_title;
     public static final int ID_IMAGE_ARROW = R.id.srl_classics_arrow;
@@ -42,6 +43,7 @@ public abstract class InternalClassics<T extends InternalClassics> extends Inter
     protected RefreshKernel mRefreshKernel;
     protected PaintDrawable mArrowDrawable;
     protected PaintDrawable mProgressDrawable;
+    protected Drawable mRenderProgressDrawable;//RenderThread 执行的旋转动画（AnimatedVectorDrawable）
 
     protected boolean mSetAccentColor;
     protected boolean mSetPrimaryColor;
@@ -158,6 +160,43 @@ public abstract class InternalClassics<T extends InternalClassics> extends Inter
         return mFinishDuration;//延迟500毫秒之后再弹回
     }
 
+    /**
+     * AnimatedVectorDrawable 从 API 25 开始在 RenderThread 执行
+     * 只替换默认的 ProgressDrawable，自定义的进度 Drawable 仍然走 onStartAnimator
+     */
+    @Override
+    public boolean isSupportRenderAnimator() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.N_MR1 && mProgressDrawable != null;
+    }
+
+    @Override
+    public void onStartRenderAnimator(@NonNull RefreshLayout refreshLayout, int height, int maxDragHeight) {
+        if (mRenderProgressDrawable == null) {
+            final View thisView = this;
+            mRenderProgressDrawable = DrawableCompat.wrap(ContextCompat.getDrawable(thisView.getContext(), R.drawable.srl_progress_render));
+        }
+        final Drawable drawable = mProgressView.getDrawable();
+        if (drawable != mRenderProgressDrawable) {
+            if (drawable instanceof Animatable && ((Animatable) drawable).isRunning()) {
+                ((Animatable) drawable).stop();//onReleased 时已经开始的主线程动画
+            }
+            final View progressView = mProgressView;
+            progressView.setVisibility(GONE);
+            DrawableCompat.setTint(mRenderProgressDrawable, mProgressDrawable.mPaint.getColor());
+            mProgressView.setImageDrawable(mRenderProgressDrawable);
+        }
+        onStartAnimator(refreshLayout, height, maxDragHeight);
+    }
+
+    @Override
+    public int onFinishRenderAnimator(@NonNull RefreshLayout refreshLayout, boolean success) {
+        final int duration = onFinish(refreshLayout, success);
+        if (mProgressDrawable != null) {
+            mProgressView.setImageDrawable(mProgressDrawable);
+        }
+        return duration;
+    }
+
     @Override
     public void setPrimaryColors(@ColorInt int ... colors) {
         if (colors.length > 0) {
@@ -224,6 +263,9 @@ public abstract class InternalClassics<T extends InternalClassics> extends Inter
             mProgressDrawable.setColor(accentColor);
             mProgressView.invalidateDrawable(mProgressDrawable);
         }
+        if (mRenderProgressDrawable != null) {
+            DrawableCompat.setTint(mRenderProgressDrawable, accentColor);
+        }
         return self();
     }
 